@@ -0,0 +1,25 @@
+package sudoku;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler attached, so allocation rates are always reported,
+ * and writes the results to jmh-result.csv. Any standard JMH command line option still applies,
+ * e.g. {@code java -jar target/benchmarks.jar SolveBenchmark -p blockLength=3}.
+ */
+public class BenchmarkMain {
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .addProfiler(GCProfiler.class)
+            .resultFormat(ResultFormatType.CSV)
+            .result("jmh-result.csv")
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,63 @@
+package sudoku;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Board hot paths: assignment with its mask updates (undone right after so the state is stable),
+ * single-value validity checks, and the full-board solution check.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+    @Param({"2", "3"})
+    public int dimensionCount;
+
+    @Param({"2", "3"})
+    public int blockLength;
+
+    @Param({"0", "10"})
+    public int numLocked;
+
+    private Board board, solved;
+    private int[] emptyCells;
+    private int next, probe;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        board = Puzzles.board(dimensionCount, blockLength, numLocked);
+        int count = 0;
+        emptyCells = new int[board.totalCells];
+        for (int i = 0; i < board.totalCells; i++) {
+            if (board.value(i) == 0 && board.availableValues.count(i) > 0) emptyCells[count++] = i;
+        }
+        emptyCells = java.util.Arrays.copyOf(emptyCells, count);
+        solved = Puzzles.solved(dimensionCount, blockLength);
+    }
+
+    @Benchmark
+    public int setAndUndo() {
+        int cell = emptyCells[next++ % emptyCells.length];
+        int level = board.level();
+        board.set(cell, board.availableValues.lowest(cell));
+        board.undoTo(level);
+        return level;
+    }
+
+    @Benchmark
+    public boolean validValue() {
+        int cell = probe++ % board.totalCells;
+        int value = probe % board.sideLength + 1;
+        return board.validValue(cell, value);
+    }
+
+    @Benchmark
+    public boolean validSolution() {
+        return solved.validSolution();
+    }
+}
@@ -0,0 +1,35 @@
+package sudoku;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Push then pop {@value #SIZE} items on the linked stack, reported per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinkedListBenchmark {
+    private static final int SIZE = 1024;
+
+    private final Integer[] items = new Integer[SIZE];
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        for (int i = 0; i < SIZE; i++) items[i] = i;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2 * SIZE)
+    public int pushPop() {
+        Stack<Integer> stack = new LinkedList<>();
+        for (Integer item : items) stack.push(item);
+        int sum = 0;
+        while (!stack.isEmpty()) sum += stack.pop();
+        return sum;
+    }
+}
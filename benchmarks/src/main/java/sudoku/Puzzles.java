@@ -0,0 +1,52 @@
+package sudoku;
+
+import java.util.Random;
+
+/**
+ * Seeded puzzles shared by the benchmarks, so every run and every commit measures the same boards.
+ */
+final class Puzzles {
+    static final long SEED = 42;
+
+    private Puzzles() {
+    }
+
+    static Board board(int dimensionCount, int blockLength, int numLocked) {
+        Board board = new Board(new BoardConfig(dimensionCount, blockLength));
+        board.initializeFixedCells(numLocked, new Random(SEED));
+        return board;
+    }
+
+    /**
+     * A complete board for the given config, built directly rather than searched for, so it exists
+     * for configs no solver finishes. Writing each coordinate in base blockLength with
+     * dimensionCount digits, digit m of a cell's value is the sum over dimensions k of digit
+     * (m + k) mod dimensionCount of coordinate k, mod blockLength. Along any line that map is a
+     * digit permutation of one coordinate, and within a block it permutes the low digits of all
+     * coordinates, so no unit repeats a value.
+     */
+    static Board solved(int dimensionCount, int blockLength) {
+        Board board = board(dimensionCount, blockLength, 0);
+        int side = board.sideLength;
+        for (int index = 0; index < board.totalCells; index++) {
+            int[] coordinates = new int[dimensionCount];
+            for (int k = dimensionCount - 1, rest = index; k >= 0; k--, rest /= side) coordinates[k] = rest % side;
+            int value = 0;
+            for (int m = dimensionCount - 1; m >= 0; m--) {
+                int digit = 0;
+                for (int k = 0; k < dimensionCount; k++) digit += digit(coordinates[k], (m + k) % dimensionCount, blockLength);
+                value = value * blockLength + digit % blockLength;
+            }
+            board.set(index, value + 1);
+        }
+        if (!board.validSolution()) {
+            throw new IllegalStateException("Built an invalid board for " + dimensionCount + "D block " + blockLength);
+        }
+        return board;
+    }
+
+    private static int digit(int coordinate, int position, int base) {
+        for (int i = 0; i < position; i++) coordinate /= base;
+        return coordinate % base;
+    }
+}
@@ -0,0 +1,46 @@
+package sudoku;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * End-to-end solve() of a seeded puzzle; every invocation gets a fresh copy of the same board.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolveBenchmark {
+    @Param({"MIN_CANDIDATES", "RANDOM", "MAX_CONSTRAINTS"})
+    public Sudoku.CellSelectionStrategy strategy;
+
+    @Param({"2"})
+    public int dimensionCount;
+
+    @Param({"2", "3"})
+    public int blockLength;
+
+    @Param({"0", "10"})
+    public int numLocked;
+
+    private Board template;
+    private Sudoku sudoku;
+
+    @Setup(Level.Trial)
+    public void setUpPuzzle() {
+        template = Puzzles.board(dimensionCount, blockLength, numLocked);
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpCopy() {
+        sudoku = new Sudoku(new Board(template), strategy);
+    }
+
+    @Benchmark
+    public boolean solve() {
+        return sudoku.solve();
+    }
+}
@@ -0,0 +1,40 @@
+package sudoku;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * One findNextCell call per strategy on a seeded, partially locked board.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StrategyBenchmark {
+    @Param({"MIN_CANDIDATES", "RANDOM", "MAX_CONSTRAINTS"})
+    public Sudoku.CellSelectionStrategy strategy;
+
+    @Param({"2", "3"})
+    public int dimensionCount;
+
+    @Param({"2", "3"})
+    public int blockLength;
+
+    @Param({"0", "10"})
+    public int numLocked;
+
+    private Sudoku sudoku;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sudoku = new Sudoku(Puzzles.board(dimensionCount, blockLength, numLocked), strategy);
+    }
+
+    @Benchmark
+    public int findNextCell() {
+        return sudoku.findNextCell();
+    }
+}
@@ -0,0 +1,172 @@
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Circular array implementation of {@link Stack} and {@link Queue}. The stack top and the queue
+ * front are both the head, like {@link LinkedList}, but every operation at either end is O(1),
+ * {@code get(index)} is O(1), and the backing array doubles when full and is kept across {@link #clear()}.
+ */
+public class ArrayDeque<T> implements Iterable<T>, Queue<T>, Stack<T> {
+    private Object[] items;
+    private int head; // slot of the first item
+    private int size;
+
+    public ArrayDeque() {
+        this(16);
+    }
+
+    public ArrayDeque(int capacity) {
+        items = new Object[Math.max(1, Integer.highestOneBit(Math.max(1, capacity - 1)) << 1)];
+    }
+
+    // capacity is always a power of two, so wrapping is a mask
+    private int slot(int index) {
+        return (head + index) & (items.length - 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T at(int slot) {
+        return (T) items[slot];
+    }
+
+    private void grow() {
+        Object[] larger = new Object[items.length * 2];
+        int firstPart = Math.min(size, items.length - head);
+        System.arraycopy(items, head, larger, 0, firstPart);
+        System.arraycopy(items, 0, larger, firstPart, size - firstPart);
+        items = larger;
+        head = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            items[slot(i)] = null;
+        }
+        head = 0;
+        size = 0;
+    }
+
+    public void addFirst(T item) {
+        if (size == items.length) grow();
+        head = (head - 1) & (items.length - 1);
+        items[head] = item;
+        size++;
+    }
+
+    public void addLast(T item) {
+        if (size == items.length) grow();
+        items[slot(size)] = item;
+        size++;
+    }
+
+    public T remove() {
+        if (isEmpty()) {
+            return null; // same as LinkedList: the Queue and Stack interfaces expect null
+        }
+        T item = at(head);
+        items[head] = null;
+        head = (head + 1) & (items.length - 1);
+        size--;
+        return item;
+    }
+
+    public T removeLast() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        int last = slot(size - 1);
+        T item = at(last);
+        items[last] = null;
+        size--;
+        return item;
+    }
+
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException();
+        }
+        return at(slot(index));
+    }
+
+    public T getLast() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return at(slot(size - 1));
+    }
+
+    public T peek() {
+        return isEmpty() ? null : at(head);
+    }
+
+    public void push(T item) {
+        addFirst(item);
+    }
+
+    public T pop() {
+        return remove();
+    }
+
+    public void offer(T item) {
+        addLast(item);
+    }
+
+    public T poll() {
+        return remove();
+    }
+
+    public boolean contains(T item) {
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(item, items[slot(i)])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return at(slot(next++));
+            }
+        };
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(items[slot(i)]);
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+
+    // capacity of the backing array, exposed so tests can check it survives clear()
+    int capacity() {
+        return items.length;
+    }
+}
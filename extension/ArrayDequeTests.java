@@ -0,0 +1,123 @@
+/*
+file name:      ArrayDequeTests.java
+
+How to run:     java -ea ArrayDequeTests
+*/
+
+public class ArrayDequeTests {
+
+    public static void main(String[] args) {
+        // case 1: testing push(), peek() and pop() as a stack
+        {
+            // setup
+            Stack<Integer> stack = new ArrayDeque<>();
+            for (int i = 0; i < 3; i++) {
+                stack.push(i);
+            }
+
+            // verify
+            System.out.println(stack.size() + " == 3");
+            System.out.println(stack.peek() + " == 2");
+
+            // test
+            assert stack.size() == 3 : "Error in ArrayDeque::push() or ArrayDeque::size()";
+            assert stack.peek() == 2 : "Error in ArrayDeque::peek()";
+            for (int i = 2; i >= 0; i--) {
+                assert stack.pop() == i : "Error in ArrayDeque::pop()";
+            }
+            assert stack.pop() == null : "Error in ArrayDeque::pop() on an empty deque";
+        }
+
+        // case 2: testing offer() and poll() as a queue
+        {
+            // setup
+            Queue<Integer> queue = new ArrayDeque<>();
+            for (int i = 0; i < 3; i++) {
+                queue.offer(i);
+            }
+
+            // verify
+            System.out.println(queue.peek() + " == 0");
+
+            // test
+            for (int i = 0; i < 3; i++) {
+                assert queue.poll() == i : "Error in ArrayDeque::poll()";
+            }
+            assert queue.poll() == null : "Error in ArrayDeque::poll() on an empty deque";
+        }
+
+        // case 3: testing growth while the items wrap around the end of the array
+        {
+            // setup
+            ArrayDeque<Integer> deque = new ArrayDeque<>(4);
+            deque.offer(1);
+            deque.offer(2);
+            deque.poll();
+            deque.poll();
+            for (int i = 0; i < 10; i++) {
+                deque.addLast(i);
+            }
+            deque.addFirst(-1);
+
+            // verify
+            System.out.println(deque + " == [-1, 0, 1, 2, 3, 4, 5, 6, 7, 8, 9]");
+
+            // test
+            assert deque.size() == 11 : "Error in ArrayDeque::grow()";
+            for (int i = 0; i < 11; i++) {
+                assert deque.get(i) == i - 1 : "Error in ArrayDeque::get() after ArrayDeque::grow()";
+            }
+            assert deque.getLast() == 9 : "Error in ArrayDeque::getLast()";
+            assert deque.removeLast() == 9 : "Error in ArrayDeque::removeLast()";
+            assert deque.contains(8) && !deque.contains(9) : "Error in ArrayDeque::contains()";
+        }
+
+        // case 4: testing clear() keeps the backing array
+        {
+            // setup
+            ArrayDeque<Integer> deque = new ArrayDeque<>();
+            for (int i = 0; i < 100; i++) {
+                deque.push(i);
+            }
+            int capacity = deque.capacity();
+            deque.clear();
+
+            // verify
+            System.out.println(deque.size() + " == 0");
+
+            // test
+            assert deque.isEmpty() : "Error in ArrayDeque::clear()";
+            assert deque.capacity() == capacity : "Error in ArrayDeque::clear() releasing the backing array";
+            deque.push(7);
+            assert deque.peek() == 7 : "Error in ArrayDeque::push() after ArrayDeque::clear()";
+        }
+
+        // case 5: testing iterator()
+        {
+            // setup
+            ArrayDeque<Integer> deque = new ArrayDeque<>(2);
+            for (int i = 0; i < 5; i++) {
+                deque.addLast(i);
+            }
+
+            // test
+            int counter = 0;
+            for (int val : deque) {
+                assert val == counter : "Error in ArrayDeque::iterator()";
+                counter++;
+            }
+            assert counter == 5 : "Error in ArrayDeque::iterator()";
+        }
+
+        // case 6: testing runtime with a million pushes and pops
+        {
+            ArrayDeque<Integer> bigStack = new ArrayDeque<>();
+            for (int i = 0; i < 1000000; i++)
+                bigStack.push(i);
+            for (int i = 0; i < 1000000; i++)
+                bigStack.pop();
+            assert bigStack.isEmpty() : "Error in ArrayDeque::push() or ArrayDeque::pop()";
+        }
+        System.out.println("Done testing ArrayDeque!");
+    }
+}
@@ -0,0 +1,156 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Streams puzzles from a channel, solves them on a fixed pool and writes the results in input order.
+ * Each line holds one puzzle, one character per cell in flat index order: '.' or '0' for an
+ * empty cell, '1'-'9' then 'a'-'z' (either case) for values 1-35, which covers the usual 81-character
+ * format and every n-D board with up to 35 symbols. Blank lines are skipped. Each output line is the
+ * completed board in the same alphabet, or "unsolvable" / "invalid" for puzzles with no solution or
+ * a malformed line. Lines are parsed straight from the byte buffer, and at most
+ * {@code 4 * parallelism} puzzles are in flight, so the reader waits for the oldest result instead of
+ * queueing the whole file.
+ */
+public class BatchSolver {
+    private static final byte[] UNSOLVABLE = "unsolvable\n".getBytes();
+    private static final byte[] INVALID = "invalid\n".getBytes();
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    public record Summary(long puzzles, long solved) {}
+
+    private final BoardConfig config;
+    private final Sudoku.Engine engine;
+    private final int parallelism, window, totalCells;
+
+    public BatchSolver(BoardConfig config, Sudoku.Engine engine, int parallelism) {
+        if (config.sideLength > 35) {
+            throw new IllegalArgumentException("Line format only encodes up to 35 symbols, not " + config.sideLength);
+        }
+        this.config = config;
+        this.engine = engine;
+        this.parallelism = parallelism;
+        this.window = 4 * parallelism;
+        this.totalCells = config.topology().totalCells;
+    }
+
+    public Summary solve(ReadableByteChannel in, WritableByteChannel out) throws IOException, InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+        ArrayDeque<Future<byte[]>> pending = new ArrayDeque<>(window);
+        ByteBuffer input = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        ByteBuffer output = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        int cells = 0;
+        boolean malformed = false;
+        byte[] line = new byte[totalCells];
+        long puzzles = 0, solved = 0;
+        try {
+            while (true) {
+                input.clear();
+                boolean end = in.read(input) < 0;
+                input.flip();
+                // a final line without a newline is finished as if it had one
+                int limit = end ? input.limit() + 1 : input.limit();
+                for (int i = 0; i < limit; i++) {
+                    byte b = i < input.limit() ? input.get(i) : (byte) '\n';
+                    if (b == '\r') continue;
+                    if (b != '\n') {
+                        int value = digit(b);
+                        if (value < 0 || value > config.sideLength || cells == line.length) malformed = true;
+                        else line[cells++] = (byte) value;
+                        continue;
+                    }
+                    if (cells == 0 && !malformed) continue; // blank line
+                    if (pending.size() == window) solved += write(pending.poll(), output, out);
+                    byte[] puzzle = malformed || cells < line.length ? null : line.clone();
+                    pending.offer(pool.submit(() -> solveLine(puzzle)));
+                    puzzles++;
+                    cells = 0;
+                    malformed = false;
+                }
+                if (end) break;
+            }
+            while (!pending.isEmpty()) solved += write(pending.poll(), output, out);
+            output.flip();
+            while (output.hasRemaining()) out.write(output);
+        } finally {
+            pool.shutdownNow();
+        }
+        return new Summary(puzzles, solved);
+    }
+
+    private static int digit(byte b) {
+        if (b == '.' || b == '0') return 0;
+        if (b >= '1' && b <= '9') return b - '0';
+        if (b >= 'a' && b <= 'z') return b - 'a' + 10;
+        if (b >= 'A' && b <= 'Z') return b - 'A' + 10;
+        return -1;
+    }
+
+    private byte[] solveLine(byte[] puzzle) {
+        if (puzzle == null) return INVALID;
+        Board board = new Board(config);
+        for (int index = 0; index < puzzle.length; index++) {
+            int value = puzzle[index];
+            if (value == 0) continue;
+            if (!board.validValue(index, value)) return UNSOLVABLE;
+            board.set(index, value);
+            board.lock(index);
+        }
+        if (!new Sudoku(board, Sudoku.CellSelectionStrategy.MIN_CANDIDATES).solve(engine)) return UNSOLVABLE;
+        byte[] result = new byte[puzzle.length + 1];
+        for (int index = 0; index < puzzle.length; index++) {
+            int value = board.value(index);
+            result[index] = (byte) (value < 10 ? '0' + value : 'a' + value - 10);
+        }
+        result[puzzle.length] = '\n';
+        return result;
+    }
+
+    // appends one finished result, flushing the buffer when it fills; returns 1 if it was a solution
+    private static int write(Future<byte[]> result, ByteBuffer output, WritableByteChannel out)
+            throws IOException, InterruptedException {
+        byte[] bytes;
+        try {
+            bytes = result.get();
+        } catch (ExecutionException e) {
+            throw new IOException("Solving a puzzle failed", e.getCause());
+        }
+        for (int offset = 0; offset < bytes.length; ) {
+            if (!output.hasRemaining()) {
+                output.flip();
+                while (output.hasRemaining()) out.write(output);
+                output.clear();
+            }
+            int chunk = Math.min(output.remaining(), bytes.length - offset);
+            output.put(bytes, offset, chunk);
+            offset += chunk;
+        }
+        return bytes == UNSOLVABLE || bytes == INVALID ? 0 : 1;
+    }
+
+    // usage: java BatchSolver <dimensions> <blockLength> <input> <output> [threads]
+    public static void main(String[] args) throws IOException, InterruptedException {
+        BoardConfig config = new BoardConfig(Integer.parseInt(args[0]), Integer.parseInt(args[1]));
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        BatchSolver batch = new BatchSolver(config, Sudoku.Engine.DANCING_LINKS, threads);
+        long start = System.currentTimeMillis();
+        Summary summary;
+        try (FileChannel in = FileChannel.open(Path.of(args[2]), StandardOpenOption.READ);
+             WritableByteChannel out = args[3].equals("-") ? Channels.newChannel(System.out)
+                 : FileChannel.open(Path.of(args[3]), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            summary = batch.solve(in, out);
+        }
+        System.err.printf("Solved %d of %d puzzles in %d ms%n", summary.solved(), summary.puzzles(),
+            System.currentTimeMillis() - start);
+    }
+}
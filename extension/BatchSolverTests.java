@@ -0,0 +1,68 @@
+/*
+file name:      BatchSolverTests.java
+
+How to run:     java -ea BatchSolverTests
+*/
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+
+public class BatchSolverTests {
+
+    private static String run(BatchSolver batch, String input, BatchSolver.Summary[] summary) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        summary[0] = batch.solve(Channels.newChannel(new ByteArrayInputStream(input.getBytes())), Channels.newChannel(bytes));
+        return bytes.toString();
+    }
+
+    public static void main(String[] args) throws Exception {
+        String puzzle = "53..7....6..195....98....6.8...6...34..8.3..17...2...6.6....28....419..5....8..79";
+        String solution = "534678912672195348198342567859761423426853791713924856961537284287419635345286179";
+
+        // case 1: results come back in input order, one line per puzzle
+        {
+            // setup
+            BatchSolver batch = new BatchSolver(new BoardConfig(2, 3), Sudoku.Engine.DANCING_LINKS, 2);
+            String conflict = "55" + ".".repeat(79);
+            StringBuilder input = new StringBuilder();
+            for (int i = 0; i < 20; i++) input.append(i % 5 == 3 ? conflict : puzzle).append("\r\n");
+            input.append("\n123\n").append(puzzle); // blank line, short line, no trailing newline
+            BatchSolver.Summary[] summary = new BatchSolver.Summary[1];
+            String[] lines = run(batch, input.toString(), summary).split("\n");
+
+            // verify
+            System.out.println(lines.length + " == 22");
+            System.out.println(summary[0] + " == Summary[puzzles=22, solved=17]");
+
+            // test
+            assert lines.length == 22 : "Error in BatchSolver::solve()";
+            for (int i = 0; i < 20; i++) {
+                assert lines[i].equals(i % 5 == 3 ? "unsolvable" : solution) : "Error in BatchSolver::solve() line " + i;
+            }
+            assert lines[20].equals("invalid") && lines[21].equals(solution) : "Error in BatchSolver::solve()";
+            assert summary[0].puzzles() == 22 && summary[0].solved() == 17 : "Error in BatchSolver::solve()";
+        }
+
+        // case 2: other board sizes and letters for values above 9
+        {
+            // setup
+            BatchSolver small = new BatchSolver(new BoardConfig(2, 2), Sudoku.Engine.BACKTRACKING, 1);
+            BatchSolver hex = new BatchSolver(new BoardConfig(2, 4), Sudoku.Engine.DANCING_LINKS, 1);
+            BatchSolver.Summary[] summary = new BatchSolver.Summary[1];
+            String[] four = run(small, "1...\n....\n" + "0".repeat(15) + "4\n", summary).split("\n");
+            long fourSolved = summary[0].solved();
+            String sixteen = run(hex, "G" + ".".repeat(255) + "\n", summary).trim();
+
+            // verify
+            System.out.println(four[0] + " == invalid");
+            System.out.println(sixteen.charAt(0) + " == g");
+
+            // test
+            assert four[0].equals("invalid") && four[1].equals("invalid") : "Error in BatchSolver::solve()"; // lines are whole boards
+            assert four[2].length() == 16 && four[2].endsWith("4") && fourSolved == 1 : "Error in BatchSolver::solve()";
+            assert sixteen.length() == 256 && sixteen.charAt(0) == 'g' : "Error in BatchSolver::solve()";
+        }
+        System.out.println("Done testing BatchSolver!");
+    }
+}
@@ -0,0 +1,89 @@
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Measures solve latency for one (config, numLocked, strategy) cell of an experiment at a time.
+ * Puzzle t of every cell is built from {@code seed + t}, RANDOM selection is seeded the same way,
+ * and each cell runs a few unmeasured warmup solves first, so two runs of the same commit solve
+ * the same puzzles and two commits can be compared row by row. Only the solve itself is timed,
+ * with {@link System#nanoTime()}, and every trial is bounded by a {@link SolveBudget} timeout.
+ */
+public class BenchmarkHarness {
+    public final int warmupTrials, trials;
+    public final Duration timeout;
+    public final long seed;
+
+    public BenchmarkHarness(int warmupTrials, int trials, Duration timeout, long seed) {
+        this.warmupTrials = warmupTrials;
+        this.trials = trials;
+        this.timeout = timeout;
+        this.seed = seed;
+    }
+
+    /**
+     * One CSV row: outcome counts and latency percentiles in microseconds over the measured trials.
+     */
+    public record Row(int dimensionCount, int blockLength, int numLocked, Sudoku.CellSelectionStrategy strategy,
+                      int trials, int solved, int unsolvable, int timeouts,
+                      double meanMicros, long p50Micros, long p90Micros, long p99Micros, long maxMicros) {
+        public static String csvHeader() {
+            return "dimensionCount,blockLength,numLocked,strategy,trials,solved,unsolvable,timeouts,"
+                + "meanMicros,p50Micros,p90Micros,p99Micros,maxMicros";
+        }
+
+        public String toCsv() {
+            return String.format(Locale.ROOT, "%d,%d,%d,%s,%d,%d,%d,%d,%.1f,%d,%d,%d,%d", dimensionCount, blockLength, numLocked,
+                strategy, trials, solved, unsolvable, timeouts, meanMicros, p50Micros, p90Micros, p99Micros, maxMicros);
+        }
+
+        public double successRate() {
+            return trials == 0 ? 0 : (double) solved / trials;
+        }
+    }
+
+    private record Trial(Sudoku.Outcome outcome, long nanos) {}
+
+    public Row run(BoardConfig config, int numLocked, Sudoku.CellSelectionStrategy strategy) {
+        for (int t = 0; t < warmupTrials; t++) {
+            trial(config, numLocked, strategy, seed - 1 - t); // puzzles the measured trials never see
+        }
+        LatencyHistogram latencies = new LatencyHistogram();
+        int solved = 0, unsolvable = 0, timeouts = 0;
+        for (int t = 0; t < trials; t++) {
+            Trial trial = trial(config, numLocked, strategy, seed + t);
+            switch (trial.outcome()) {
+                case SOLVED -> solved++;
+                case UNSOLVABLE -> unsolvable++;
+                case TIMEOUT -> timeouts++;
+            }
+            latencies.record(trial.nanos());
+        }
+        return new Row(config.dimensionCount, config.blockLength, numLocked, strategy, trials, solved, unsolvable,
+            timeouts, latencies.mean() / 1e3, latencies.percentile(50) / 1000, latencies.percentile(90) / 1000,
+            latencies.percentile(99) / 1000, latencies.max() / 1000);
+    }
+
+    // builds the seeded puzzle untimed, then times the solve alone
+    private Trial trial(BoardConfig config, int numLocked, Sudoku.CellSelectionStrategy strategy, long puzzleSeed) {
+        Board board = new Board(config);
+        board.initializeFixedCells(numLocked, new Random(puzzleSeed));
+        Sudoku sudoku = new Sudoku(board, strategy, puzzleSeed);
+        SolveBudget budget = SolveBudget.of(timeout);
+        long start = System.nanoTime();
+        Sudoku.Outcome outcome = sudoku.solve(Sudoku.Engine.BACKTRACKING, budget);
+        return new Trial(outcome, System.nanoTime() - start);
+    }
+
+    public static void writeCsv(Path file, List<Row> rows) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            out.println(Row.csvHeader());
+            for (Row row : rows) out.println(row.toCsv());
+        }
+    }
+}
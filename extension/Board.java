@@ -1,32 +1,98 @@
-import java.util.Arrays;
-import java.util.ArrayList;
 import java.util.Random;
-import java.util.List;
+import java.util.stream.IntStream;
 
 public class Board {
     public int dimensionCount, sideLength, blockLength, numLocked, totalCells;
-    protected int[] dimensions, availableValues;
-    protected Cell[] cells; // 1D array to store all cells
-    protected List<Integer>[] blocks; // precompute the blocks
-    // bitmask to store available values
+    protected int[] dimensions;
+    protected BoardConfig config;
+    // cell values by flat index, in bytes while the symbols fit and chars beyond that
+    private final byte[] smallValues;
+    private final char[] largeValues;
+    private final long[] lockedBits; // one bit per cell
+    // cells holding each value in each unit, at unit * sideLength + value - 1, kept by store()
+    private final int[] unitValueCounts;
+    // filled cells, and how many times a unit holds a value it already had
+    private int filledCells, repeatedValues;
+    protected BoardTopology topology; // precomputed peers and units, shared per config
+    protected CandidateSet availableValues; // bitmask to store available values
+    protected CandidateBuckets buckets; // empty cells ordered by candidate count
+    // assignments in the order they were made, with the candidate trail mark taken before each
+    private int[] assignedCells, assignedMarks;
+    private int level;
+    // empty cells whose candidates dropped to one, waiting for propagate() to assign them
+    private int[] singles;
+    private int singlesHead, singlesTail;
 
     public Board(BoardConfig config) {
+        this.config = config;
         this.dimensionCount = config.dimensionCount;
         this.sideLength = config.sideLength;
         this.blockLength = config.blockLength;
         this.dimensions = config.dimensions;
-        totalCells = (int) Math.pow(sideLength, dimensionCount);
-        cells = new Cell[totalCells];
-        blocks = precomputeBlocks();
-        availableValues = new int[totalCells];
-        Arrays.fill(availableValues, (1 << sideLength) - 1);
+        topology = config.topology();
+        totalCells = topology.totalCells;
+        smallValues = sideLength <= 0xFF ? new byte[totalCells] : null;
+        largeValues = sideLength <= 0xFF ? null : new char[totalCells];
+        lockedBits = new long[(totalCells + 63) >>> 6];
+        unitValueCounts = new int[topology.unitCount * sideLength];
+        availableValues = new CandidateSet(totalCells, sideLength);
+        buckets = new CandidateBuckets(totalCells, sideLength);
+        assignedCells = new int[totalCells];
+        assignedMarks = new int[totalCells];
+        singles = new int[totalCells];
+    }
 
-        // initialize all cells to 0
+    // independent copy of the filled cells and locks; the cells are replayed through set(), so they
+    // sit on the copy's own trail and level() starts at the number of filled cells
+    public Board(Board other) {
+        this(other.config);
+        numLocked = other.numLocked;
         for (int i = 0; i < totalCells; i++) {
-            cells[i] = new Cell(coordinatesFromIndex(i), 0, false);
+            int value = other.value(i);
+            if (value != 0) set(i, value);
+        }
+        System.arraycopy(other.lockedBits, 0, lockedBits, 0, lockedBits.length);
+    }
+
+    public int value(int index) {
+        return smallValues != null ? smallValues[index] & 0xFF : largeValues[index];
+    }
+
+    private void store(int index, int value) {
+        int old = value(index);
+        if (old != 0) count(index, old, -1);
+        if (value != 0) count(index, value, 1);
+        if (smallValues != null) smallValues[index] = (byte) value;
+        else largeValues[index] = (char) value;
+    }
+
+    // adds delta to the value's count in the cell's lines and block
+    private void count(int index, int value, int delta) {
+        filledCells += delta;
+        for (int dim = 0; dim <= dimensionCount; dim++) {
+            int unit = dim < dimensionCount ? topology.cellToLine[dim][index] : topology.cellToBlock[index];
+            int slot = unit * sideLength + value - 1;
+            if (delta > 0) {
+                if (unitValueCounts[slot]++ > 0) repeatedValues++;
+            } else if (--unitValueCounts[slot] > 0) {
+                repeatedValues--;
+            }
         }
     }
 
+    public boolean isLocked(int index) {
+        return (lockedBits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    protected void lock(int index) {
+        lockedBits[index >>> 6] |= 1L << index;
+    }
+
+    // snapshot of one cell, with its coordinates derived from the flat index
+    public Cell cell(int index) {
+        return new Cell(coordinatesFromIndex(index), value(index), isLocked(index));
+    }
+
     private int[] coordinatesFromIndex(int index) {
         int[] coords = new int[dimensionCount];
         int divisor = 1;
@@ -47,130 +113,174 @@ public class Board {
         return index;
     }
 
-    private List<Integer>[] precomputeBlocks() {
-        int blockCount = 1;
-        for (int dim = 0; dim < dimensionCount; dim++) {
-            blockCount *= (dimensions[dim] / blockLength);
-        }
-
-        @SuppressWarnings("unchecked")
-        List<Integer>[] blocks = new List[blockCount];
+    // set value and update the bitmask
+    public void set(int[] coordinates, int value) {
+        set(getFlatIndex(coordinates), value);
+    }
 
-        for (int blockIndex = 0; blockIndex < blockCount; blockIndex++) {
-            blocks[blockIndex] = new ArrayList<>();
-            int[] blockStart = new int[dimensionCount];
+    public void set(int index, int value) {
+        store(index, value);
+        buckets.fill(index);
+        assignedCells[level] = index;
+        assignedMarks[level++] = availableValues.mark();
+        updateAvailableValues(index, value);
+    }
 
-            for (int dim = 0; dim < dimensionCount; dim++) {
-                int divider = 1;
-                for (int d = 0; d < dim; d++) {
-                    divider *= (dimensions[d] / blockLength);
-                }
-                int blockNumber = (blockIndex / divider) % (dimensions[dim] / blockLength);
-                blockStart[dim] = blockNumber * blockLength;
-            }
+    // number of assignments currently on the board
+    public int level() {
+        return level;
+    }
 
-            List<int[]> coordsList = new ArrayList<>();
-            generateBlockCoordinates(blockStart, new int[dimensionCount], 0, coordsList);
-            for (int[] coords : coordsList) {
-                blocks[blockIndex].add(getFlatIndex(coords));
+    // undo every assignment made after the given level, restoring the bitmasks exactly
+    public void undoTo(int level) {
+        while (this.level > level) {
+            this.level--;
+            int mark = assignedMarks[this.level];
+            while (availableValues.mark() > mark) {
+                int cell = availableValues.undoLast();
+                if (value(cell) == 0) buckets.increment(cell);
             }
+            int index = assignedCells[this.level];
+            store(index, 0);
+            buckets.setKey(index, availableValues.count(index));
         }
-        return blocks;
+        singlesHead = singlesTail = 0;
     }
 
-    // recursively generate all coordinates in a block
-    private void generateBlockCoordinates(int[] blockStart, int[] current, int depth, List<int[]> coordsList) {
-        if (depth == dimensionCount) {
-            coordsList.add(current.clone());
-            return;
-        }
-        for (int i = blockStart[depth]; i < blockStart[depth] + blockLength; i++) {
-            current[depth] = i;
-            generateBlockCoordinates(blockStart, current, depth + 1, coordsList);
+    // undo the most recent assignment, which must be the one at these coordinates
+    public void unset(int[] coordinates) {
+        int index = getFlatIndex(coordinates);
+        if (level == 0 || assignedCells[level - 1] != index) {
+            throw new IllegalStateException("Cells must be unset in reverse order of assignment");
         }
+        undoTo(level - 1);
     }
 
-    protected int getBlockIndex(int... coordinates) {
-        int blockIndex = 0;
-        int multiplier = 1;
-        for (int dim = 0; dim < dimensionCount; dim++) {
-            int blockStart = (coordinates[dim] / blockLength) * blockLength;
-            int blockNumber = blockStart / blockLength;
-            blockIndex += blockNumber * multiplier;
-            multiplier *= (dimensions[dim] / blockLength);
+    private void updateAvailableValues(int index, int value) {
+        availableValues.clear(index, value);
+        int[] peers = topology.peers;
+        for (int p = index * topology.peerCount, end = p + topology.peerCount; p < end; p++) {
+            int peer = peers[p];
+            if (availableValues.clear(peer, value) && value(peer) == 0) {
+                buckets.decrement(peer);
+                if (buckets.key(peer) == 1) singles[singlesTail++] = peer;
+            }
         }
-        return blockIndex;
     }
 
-    // set value and update the bitmask
-    public void set(int[] coordinates, int value) {
-        int index = getFlatIndex(coordinates);
-        cells[index].setValue(value);
-        updateAvailableValues(coordinates, value);
+    /**
+     * Assigns every naked single queued by earlier assignments, cascading through the singles
+     * those assignments create in turn. Stops at the first cell left without candidates.
+     *
+     * @return false if some empty cell has no candidates left, true otherwise.
+     */
+    public boolean propagate() {
+        while (singlesHead < singlesTail && !buckets.hasWipeout()) {
+            int cell = singles[singlesHead++];
+            if (value(cell) != 0) continue;
+            set(cell, availableValues.lowest(cell));
+        }
+        singlesHead = singlesTail = 0;
+        return !buckets.hasWipeout();
     }
 
-    private void updateAvailableValues(int[] coordinates, int value) {
-         int index = getFlatIndex(coordinates);
-        availableValues[index] &= ~(1 << (value - 1));
-
-        // update dimensionConstraints
-        for (int dim = 0; dim < dimensionCount; dim++) {
-            int[] temp = coordinates.clone();
-            for (int i = 0; i < dimensions[dim]; i++) {
-                temp[dim] = i;
-                int cellIndex = getFlatIndex(temp);
-                availableValues[cellIndex] &= ~(1 << (value - 1));
+    /**
+     * Breaks value symmetry: values no cell holds yet are interchangeable, so when every value
+     * missing from a unit is one of them, any solution can be relabelled into one where that
+     * unit's open cells hold those values in increasing order. Fills the unit with the most open
+     * cells that qualifies, which keeps solvability while cutting out every relabelling of the
+     * search. On a blank board that is the first line along the last dimension, cells
+     * 0..sideLength-1, set to 1..sideLength.
+     *
+     * @return the number of cells filled, 0 if no unit qualifies.
+     */
+    public int fixFreeValues() {
+        boolean[] used = new boolean[sideLength];
+        for (int line = 0; line < topology.linesPerDimension; line++) { // the lines along dim 0 cover every cell
+            for (int v = 0; v < sideLength; v++) used[v] |= unitValueCounts[line * sideLength + v] > 0;
+        }
+        int best = -1, bestMissing = 1; // a single missing value is left to propagation
+        // lines along the last dimension first: on a blank board the search would fill cells 0..sideLength-1
+        // with 1..sideLength itself, so fixing them there leaves its fill order unchanged
+        int first = (dimensionCount - 1) * topology.linesPerDimension;
+        for (int k = 0; k < topology.unitCount; k++) {
+            int unit = (first + k) % topology.unitCount;
+            int missing = 0;
+            for (int v = 0; v < sideLength && missing >= 0; v++) {
+                if (unitValueCounts[unit * sideLength + v] == 0) missing = used[v] ? -1 : missing + 1;
+            }
+            if (missing > bestMissing) {
+                best = unit;
+                bestMissing = missing;
             }
         }
-        // update block constraints
-        int blockIndex = getBlockIndex(coordinates);
-        for (int cellIndex : blocks[blockIndex]) {
-            availableValues[cellIndex] &= ~(1 << (value - 1));
+        if (best < 0) return 0;
+        int value = 0, filled = 0;
+        for (int i = best * sideLength, end = i + sideLength; i < end; i++) {
+            int cell = topology.units[i];
+            if (value(cell) != 0) continue;
+            while (unitValueCounts[best * sideLength + value] > 0) value++;
+            set(cell, ++value);
+            filled++;
         }
+        return filled; // fewer than bestMissing when the unit repeats a clue
     }
 
     protected void initializeFixedCells(int numFixed) {
+        initializeFixedCells(numFixed, new Random());
+    }
+
+    // seeded variant so experiments and benchmarks can replay the same puzzle
+    protected void initializeFixedCells(int numFixed, Random rand) {
         numLocked = numFixed;
-        Random rand = new Random();
         while (numFixed-- > 0) {
             int[] coords = new int[dimensionCount];
             for (int dim = 0; dim < dimensionCount; dim++) {
                 coords[dim] = rand.nextInt(dimensions[dim]);
             }
             int value = rand.nextInt(sideLength) + 1;
-            if (validValue(coords, value)) {
-                set(coords, value);
-                cells[getFlatIndex(coords)].locked = true;
+            int index = getFlatIndex(coords);
+            if (value(index) == 0 && validValue(index, value)) {
+                set(index, value);
+                lock(index);
             }
         }
     }
 
     public boolean validValue(int[] coordinates, int value) {
-        int index = getFlatIndex(coordinates);
-        if ((availableValues[index] & (1 << (value-1))) == 0) return false;
-
-        for (int dim = 0; dim < dimensionCount; dim++) {
-            int[] temp = coordinates.clone();
-            for (int i = 0; i < sideLength; i++) {
-                temp[dim] = i;
-                int cellIndex = getFlatIndex(temp);
-                if (cellIndex == index) continue;
-                if (cells[cellIndex].getValue() == value) return false;
-            }
-        }
-        int blockIndex = getBlockIndex(coordinates);
-        for (int cellIndex : blocks[blockIndex]) {
-            if (cellIndex == index) continue;
-            if (cells[cellIndex].getValue() == value) return false;
+        return validValue(getFlatIndex(coordinates), value);
+    }
+
+    public boolean validValue(int index, int value) {
+        if (!availableValues.contains(index, value)) return false;
+
+        int[] peers = topology.peers;
+        for (int p = index * topology.peerCount, end = p + topology.peerCount; p < end; p++) {
+            if (value(peers[p]) == value) return false;
         }
         return true;
     }
 
+    // every cell filled and no unit repeating a value, read off the occupancy counters
     public boolean validSolution() {
-        for (Cell cell : cells) {
-            if (cell.getValue() == 0) return false;
-            int[] coords = cell.getCoordinates();
-            if (!validValue(coords, cell.getValue())) return false;
+        return filledCells == totalCells && repeatedValues == 0;
+    }
+
+    /**
+     * Rechecks every unit from the cell values alone, ignoring the counters, with the units
+     * split across the common pool. Meant for audits and tests; {@link #validSolution()} gives
+     * the same answer in constant time. The board must not change while this runs.
+     */
+    public boolean auditSolution() {
+        return IntStream.range(0, topology.unitCount).parallel().allMatch(this::completeUnit);
+    }
+
+    private boolean completeUnit(int unit) {
+        long[] seen = new long[(sideLength >>> 6) + 1];
+        for (int i = unit * sideLength, end = i + sideLength; i < end; i++) {
+            int value = value(topology.units[i]);
+            if (value == 0 || (seen[value >>> 6] & (1L << value)) != 0) return false;
+            seen[value >>> 6] |= 1L << value;
         }
         return true;
     }
@@ -179,7 +289,7 @@ public class Board {
         System.out.printf("\nExample Solution for %dD Sudoku:\n", dimensionCount);
         int sideLength = board.sideLength;
         for (int i = 0; i < board.totalCells; i++) {
-            System.out.printf("%3d", board.cells[i].getValue()); // Right-align values with padding
+            System.out.printf("%3d", board.value(i)); // Right-align values with padding
             if ((i + 1) % sideLength == 0) {
                 System.out.println();
             }
@@ -5,6 +5,7 @@ public class BoardConfig {
     public final int sideLength;
     public final int blockLength;
     public final int[] dimensions;
+    private BoardTopology topology;
 
     public BoardConfig(int dimensionCount, int blockLength) {
         this.dimensionCount = dimensionCount;
@@ -13,4 +14,10 @@ public class BoardConfig {
         dimensions = new int[dimensionCount];
         Arrays.fill(dimensions, sideLength);
     }
+
+    // peer and unit tables, built on first use and shared by every board of this config
+    public synchronized BoardTopology topology() {
+        if (topology == null) topology = new BoardTopology(this);
+        return topology;
+    }
 }
\ No newline at end of file
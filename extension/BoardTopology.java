@@ -0,0 +1,110 @@
+/**
+ * Index tables describing which cells constrain each other on a board of a given {@link BoardConfig}.
+ * Units are the lines along every dimension followed by the blocks; unit u holds the cells
+ * {@code units[u * sideLength] .. units[(u + 1) * sideLength - 1]}. The peers of a cell are the
+ * distinct other cells sharing a unit with it, {@code peerCount} per cell in {@code peers}.
+ * Built once per config (see {@link BoardConfig#topology()}) and shared read-only by every board.
+ */
+public class BoardTopology {
+    public final int dimensionCount, sideLength, blockLength, totalCells;
+    public final int linesPerDimension, blockCount, unitCount, peerCount;
+    public final int[] strides; // flat index step along each dimension
+    public final int[] units, peers;
+    public final int[][] cellToLine; // [dim][cell] -> unit of the line through the cell along dim
+    public final int[] cellToBlock; // [cell] -> unit of the block holding the cell
+
+    public BoardTopology(BoardConfig config) {
+        dimensionCount = config.dimensionCount;
+        sideLength = config.sideLength;
+        blockLength = config.blockLength;
+        long cells = 1;
+        for (int dim = 0; dim < dimensionCount; dim++) cells *= sideLength;
+        peerCount = dimensionCount * (sideLength - 1) + (sideLength - 1) - dimensionCount * (blockLength - 1);
+        if (cells * peerCount > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException(String.format(
+                "Board with %d dimensions and block length %d is too large for a peer table", dimensionCount, blockLength));
+        }
+        totalCells = (int) cells;
+        linesPerDimension = totalCells / sideLength;
+        blockCount = linesPerDimension;
+        unitCount = (dimensionCount + 1) * linesPerDimension;
+
+        strides = new int[dimensionCount];
+        int stride = 1;
+        for (int dim = dimensionCount - 1; dim >= 0; dim--) {
+            strides[dim] = stride;
+            stride *= sideLength;
+        }
+
+        units = new int[unitCount * sideLength];
+        cellToLine = new int[dimensionCount][totalCells];
+        cellToBlock = new int[totalCells];
+        buildLines();
+        buildBlocks();
+        peers = new int[totalCells * peerCount];
+        buildPeers();
+    }
+
+    // a line starts at every cell whose coordinate along dim is 0
+    private void buildLines() {
+        for (int dim = 0; dim < dimensionCount; dim++) {
+            int unit = dim * linesPerDimension, stride = strides[dim];
+            for (int cell = 0; cell < totalCells; cell++) {
+                if (coordinate(cell, dim) != 0) continue;
+                for (int i = 0; i < sideLength; i++) {
+                    int member = cell + i * stride;
+                    units[unit * sideLength + i] = member;
+                    cellToLine[dim][member] = unit;
+                }
+                unit++;
+            }
+        }
+    }
+
+    // block numbering matches the old Board.getBlockIndex: dimension 0 varies fastest
+    private void buildBlocks() {
+        int blocksPerSide = sideLength / blockLength;
+        int[] filled = new int[blockCount];
+        for (int cell = 0; cell < totalCells; cell++) {
+            int blockIndex = 0, multiplier = 1;
+            for (int dim = 0; dim < dimensionCount; dim++) {
+                blockIndex += (coordinate(cell, dim) / blockLength) * multiplier;
+                multiplier *= blocksPerSide;
+            }
+            int unit = dimensionCount * linesPerDimension + blockIndex;
+            units[unit * sideLength + filled[blockIndex]++] = cell;
+            cellToBlock[cell] = unit;
+        }
+    }
+
+    // lines through a cell only meet at the cell, so only block cells off those lines are new
+    private void buildPeers() {
+        for (int cell = 0; cell < totalCells; cell++) {
+            int next = cell * peerCount;
+            for (int dim = 0; dim < dimensionCount; dim++) {
+                int start = cellToLine[dim][cell] * sideLength;
+                for (int i = 0; i < sideLength; i++) {
+                    int member = units[start + i];
+                    if (member != cell) peers[next++] = member;
+                }
+            }
+            int start = cellToBlock[cell] * sideLength;
+            for (int i = 0; i < sideLength; i++) {
+                int member = units[start + i];
+                if (member != cell && !sharesLine(cell, member)) peers[next++] = member;
+            }
+        }
+    }
+
+    private boolean sharesLine(int a, int b) {
+        for (int dim = 0; dim < dimensionCount; dim++) {
+            if (cellToLine[dim][a] == cellToLine[dim][b]) return true;
+        }
+        return false;
+    }
+
+    // coordinate along dim of a flat index, the inverse of Board.getFlatIndex
+    public int coordinate(int cell, int dim) {
+        return (cell / strides[dim]) % sideLength;
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * Empty cells bucketed by how many candidates they have left, kept in one array sorted by that count.
+ * Bucket k (0..symbolCount) holds the empty cells with k candidates, and bucket symbolCount + 1
+ * holds the filled cells. Moving a cell to a neighbouring bucket is a single swap with the
+ * bucket boundary, so the cell with the fewest candidates is always {@code order[0]}.
+ */
+public class CandidateBuckets {
+    public final int cellCount, symbolCount, filled;
+    private final int[] order, position, key;
+    private final int[] start; // start[k] is the first slot of bucket k, start[filled + 1] == cellCount
+
+    // every cell starts empty with all symbols available
+    public CandidateBuckets(int cellCount, int symbolCount) {
+        this.cellCount = cellCount;
+        this.symbolCount = symbolCount;
+        this.filled = symbolCount + 1;
+        order = new int[cellCount];
+        position = new int[cellCount];
+        key = new int[cellCount];
+        start = new int[filled + 2];
+        for (int cell = 0; cell < cellCount; cell++) {
+            order[cell] = cell;
+            position[cell] = cell;
+            key[cell] = symbolCount;
+        }
+        start[filled] = cellCount;
+        start[filled + 1] = cellCount;
+    }
+
+    // one candidate fewer: swap to the front of the bucket and move the boundary past it
+    public void decrement(int cell) {
+        int k = key[cell];
+        swap(cell, order[start[k]]);
+        start[k]++;
+        key[cell] = k - 1;
+    }
+
+    // one candidate more: swap to the back of the bucket and move the next boundary before it
+    public void increment(int cell) {
+        int k = key[cell];
+        swap(cell, order[start[k + 1] - 1]);
+        start[k + 1]--;
+        key[cell] = k + 1;
+    }
+
+    public void setKey(int cell, int newKey) {
+        while (key[cell] < newKey) increment(cell);
+        while (key[cell] > newKey) decrement(cell);
+    }
+
+    public int key(int cell) {
+        return key[cell];
+    }
+
+    public void fill(int cell) {
+        setKey(cell, filled);
+    }
+
+    // empty cell with the fewest candidates, or -1 if every cell is filled
+    public int min() {
+        return start[filled] > 0 ? order[0] : -1;
+    }
+
+    // true as soon as any empty cell has run out of candidates
+    public boolean hasWipeout() {
+        return start[1] > 0;
+    }
+
+    public int size(int k) {
+        return start[k + 1] - start[k];
+    }
+
+    public int emptyCells() {
+        return start[filled];
+    }
+
+    private void swap(int a, int b) {
+        int pa = position[a], pb = position[b];
+        order[pa] = b;
+        order[pb] = a;
+        position[a] = pb;
+        position[b] = pa;
+    }
+}
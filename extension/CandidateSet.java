@@ -0,0 +1,136 @@
+import java.util.Arrays;
+
+/**
+ * Candidate bitsets for every cell of a board, packed into one flat {@code long[]}.
+ * Bit (value - 1) of a cell is set while that value is still available for it.
+ * Boards with up to 64 symbols use one word per cell, larger ones use as many as they need.
+ * Every word a {@link #clear} changes is logged on a trail so it can be restored by {@link #undoTo}.
+ */
+public class CandidateSet {
+    public final int cellCount, symbolCount, wordsPerCell;
+    protected final long[] words;
+    private final long lastWordMask;
+    // undo log: flat word index and the word's value before the change
+    private int[] trailWords = new int[1024];
+    private long[] trailOld = new long[1024];
+    private int trailSize;
+
+    public CandidateSet(int cellCount, int symbolCount) {
+        this.cellCount = cellCount;
+        this.symbolCount = symbolCount;
+        this.wordsPerCell = (symbolCount + 63) >>> 6;
+        long length = (long) cellCount * wordsPerCell;
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many candidate words: " + length);
+        }
+        words = new long[(int) length];
+        int tailBits = symbolCount & 63;
+        lastWordMask = tailBits == 0 ? -1L : (1L << tailBits) - 1;
+        fillAll();
+    }
+
+    // every value available in every cell, forgets the trail
+    public void fillAll() {
+        trailSize = 0;
+        if (wordsPerCell == 1) {
+            Arrays.fill(words, lastWordMask);
+            return;
+        }
+        Arrays.fill(words, -1L);
+        for (int cell = 0; cell < cellCount; cell++) {
+            words[cell * wordsPerCell + wordsPerCell - 1] = lastWordMask;
+        }
+    }
+
+    public boolean contains(int cell, int value) {
+        int bit = value - 1;
+        return (words[cell * wordsPerCell + (bit >>> 6)] & (1L << bit)) != 0;
+    }
+
+    // clear one value, returns true if it was still available
+    public boolean clear(int cell, int value) {
+        int bit = value - 1;
+        int word = cell * wordsPerCell + (bit >>> 6);
+        long old = words[word];
+        long updated = old & ~(1L << bit);
+        if (updated == old) return false;
+        if (trailSize == trailWords.length) {
+            trailWords = Arrays.copyOf(trailWords, trailSize * 2);
+            trailOld = Arrays.copyOf(trailOld, trailSize * 2);
+        }
+        trailWords[trailSize] = word;
+        trailOld[trailSize++] = old;
+        words[word] = updated;
+        return true;
+    }
+
+    // current trail position, pass it to undoTo to roll back every clear made after it
+    public int mark() {
+        return trailSize;
+    }
+
+    public void undoTo(int mark) {
+        while (trailSize > mark) undoLast();
+    }
+
+    // restore the most recently cleared value, returns the cell it belongs to
+    public int undoLast() {
+        trailSize--;
+        int word = trailWords[trailSize];
+        words[word] = trailOld[trailSize];
+        return word / wordsPerCell;
+    }
+
+    public int count(int cell) {
+        if (wordsPerCell == 1) return Long.bitCount(words[cell]);
+        int base = cell * wordsPerCell, count = 0;
+        for (int w = 0; w < wordsPerCell; w++) {
+            count += Long.bitCount(words[base + w]);
+        }
+        return count;
+    }
+
+    // smallest available value, or 0 if the cell has none left
+    public int lowest(int cell) {
+        if (wordsPerCell == 1) {
+            long word = words[cell];
+            return word == 0 ? 0 : Long.numberOfTrailingZeros(word) + 1;
+        }
+        int base = cell * wordsPerCell;
+        for (int w = 0; w < wordsPerCell; w++) {
+            long word = words[base + w];
+            if (word != 0) return (w << 6) + Long.numberOfTrailingZeros(word) + 1;
+        }
+        return 0;
+    }
+
+    // copy a cell's words out, e.g. to keep the candidates a search decision still has to try
+    public void copy(int cell, long[] dest, int offset) {
+        System.arraycopy(words, cell * wordsPerCell, dest, offset, wordsPerCell);
+    }
+
+    // remove and return the smallest value of a copied mask, or 0 if it is empty
+    public static int pollLowest(long[] mask, int offset, int wordCount) {
+        for (int w = 0; w < wordCount; w++) {
+            long word = mask[offset + w];
+            if (word != 0) {
+                mask[offset + w] = word & (word - 1);
+                return (w << 6) + Long.numberOfTrailingZeros(word) + 1;
+            }
+        }
+        return 0;
+    }
+
+    // smallest available value greater than {@code after}, or 0 if there is none
+    public int next(int cell, int after) {
+        if (after >= symbolCount) return 0;
+        int base = cell * wordsPerCell;
+        int w = after >>> 6;
+        long word = words[base + w] & (-1L << (after & 63));
+        while (true) {
+            if (word != 0) return (w << 6) + Long.numberOfTrailingZeros(word) + 1;
+            if (++w == wordsPerCell) return 0;
+            word = words[base + w];
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+file name:      CandidateSetTests.java
+
+How to run:     java -ea CandidateSetTests
+*/
+
+public class CandidateSetTests {
+
+    public static void main(String[] args) {
+        // case 1: single-word cells start full
+        {
+            // setup
+            CandidateSet set = new CandidateSet(4, 9);
+
+            // verify
+            System.out.println(set.wordsPerCell + " == 1");
+            System.out.println(set.count(3) + " == 9");
+            System.out.println(set.lowest(3) + " == 1");
+
+            // test
+            assert set.wordsPerCell == 1 : "Error in CandidateSet::CandidateSet()";
+            assert set.count(3) == 9 : "Error in CandidateSet::count()";
+            assert set.lowest(3) == 1 : "Error in CandidateSet::lowest()";
+        }
+
+        // case 2: clear, contains and next on 81 symbols (two words per cell)
+        {
+            // setup
+            CandidateSet set = new CandidateSet(2, 81);
+            boolean first = set.clear(1, 1);
+            boolean again = set.clear(1, 1);
+            for (int v = 2; v <= 70; v++) set.clear(1, v);
+
+            // verify
+            System.out.println(set.wordsPerCell + " == 2");
+            System.out.println(set.count(0) + " == 81");
+            System.out.println(set.count(1) + " == 11");
+            System.out.println(set.lowest(1) + " == 71");
+            System.out.println(set.next(1, 75) + " == 76");
+            System.out.println(set.next(1, 81) + " == 0");
+
+            // test
+            assert set.wordsPerCell == 2 : "Error in CandidateSet::CandidateSet()";
+            assert first && !again : "Error in CandidateSet::clear()";
+            assert !set.contains(1, 64) && set.contains(1, 71) && set.contains(0, 81) : "Error in CandidateSet::contains()";
+            assert set.count(0) == 81 && set.count(1) == 11 : "Error in CandidateSet::count()";
+            assert set.lowest(1) == 71 : "Error in CandidateSet::lowest()";
+            assert set.next(1, 75) == 76 && set.next(1, 81) == 0 : "Error in CandidateSet::next()";
+        }
+
+        // case 3: exactly 64 symbols uses the whole word
+        {
+            // setup
+            CandidateSet set = new CandidateSet(1, 64);
+            for (int v = 1; v < 64; v++) set.clear(0, v);
+
+            // verify
+            System.out.println(set.count(0) + " == 1");
+            System.out.println(set.lowest(0) + " == 64");
+
+            // test
+            assert set.count(0) == 1 : "Error in CandidateSet::count()";
+            assert set.lowest(0) == 64 : "Error in CandidateSet::lowest()";
+            set.clear(0, 64);
+            assert set.lowest(0) == 0 : "Error in CandidateSet::lowest()";
+        }
+        System.out.println("Done testing CandidateSet!");
+    }
+}
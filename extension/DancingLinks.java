@@ -0,0 +1,223 @@
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exact-cover solver (Knuth's Algorithm X with Dancing Links) for any {@link Board}.
+ * Columns are "cell is filled" for every empty cell and "unit holds value" for every line and
+ * block that is still missing the value; rows are the (cell, value) pairs the candidate masks allow.
+ * Constraints already met by the board's filled cells are left out of the matrix entirely.
+ * Rows are stored contiguously, so only the vertical links and the column header ring are explicit.
+ * Each instance is meant for a single {@link #solve()} or {@link #count(long)}.
+ */
+public class DancingLinks {
+    private static final int ROOT = 0;
+    private static final long TIMED_OUT = -1;
+
+    private final Board board;
+    private final int width; // nodes per row: the cell column plus one per unit of the cell
+    private final int columnCount, firstNode;
+    private final int[] left, right, size; // column header ring and column sizes
+    private final int[] up, down, column; // per node, headers included
+    private final int[] rowCell, rowValue; // per row
+    private int[] chosen; // row node picked at each depth; after a search, [0, depth) is the last cover found
+    private int depth;
+
+    public DancingLinks(Board board) {
+        this.board = board;
+        BoardTopology topology = board.topology;
+        int side = board.sideLength, cells = board.totalCells;
+        width = board.dimensionCount + 2;
+
+        // map every still-open constraint to a column, -1 for the ones the clues already satisfy
+        int[] columnOf = new int[cells + topology.unitCount * side];
+        for (int cell = 0; cell < cells; cell++) {
+            int value = board.value(cell);
+            if (value == 0) continue;
+            columnOf[cell] = -1;
+            for (int dim = 0; dim < board.dimensionCount; dim++) {
+                columnOf[cells + topology.cellToLine[dim][cell] * side + value - 1] = -1;
+            }
+            columnOf[cells + topology.cellToBlock[cell] * side + value - 1] = -1;
+        }
+        int columns = 0;
+        for (int i = 0; i < columnOf.length; i++) {
+            if (columnOf[i] == 0) columnOf[i] = ++columns;
+        }
+        columnCount = columns;
+
+        long rows = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            if (board.value(cell) == 0) rows += board.availableValues.count(cell);
+        }
+        long nodes = columnCount + 1 + rows * width;
+        if (nodes > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Exact cover matrix too large: " + nodes + " nodes");
+        }
+        firstNode = columnCount + 1;
+        left = new int[columnCount + 1];
+        right = new int[columnCount + 1];
+        size = new int[columnCount + 1];
+        up = new int[(int) nodes];
+        down = new int[(int) nodes];
+        column = new int[(int) nodes];
+        rowCell = new int[(int) rows];
+        rowValue = new int[(int) rows];
+
+        for (int c = 0; c <= columnCount; c++) {
+            left[c] = c == 0 ? columnCount : c - 1;
+            right[c] = c == columnCount ? 0 : c + 1;
+            up[c] = c;
+            down[c] = c;
+            column[c] = c;
+        }
+
+        int row = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            if (board.value(cell) != 0) continue;
+            for (int value = board.availableValues.lowest(cell); value != 0; value = board.availableValues.next(cell, value)) {
+                int node = firstNode + row * width;
+                rowCell[row] = cell;
+                rowValue[row++] = value;
+                append(node, columnOf[cell]);
+                for (int dim = 0; dim < board.dimensionCount; dim++) {
+                    append(++node, columnOf[cells + topology.cellToLine[dim][cell] * side + value - 1]);
+                }
+                append(++node, columnOf[cells + topology.cellToBlock[cell] * side + value - 1]);
+            }
+        }
+    }
+
+    private void append(int node, int c) {
+        column[node] = c;
+        up[node] = up[c];
+        down[node] = c;
+        down[up[c]] = node;
+        up[c] = node;
+        size[c]++;
+    }
+
+    // neighbours inside a row, which wraps around its own contiguous block of nodes
+    private int nextInRow(int node) {
+        return (node - firstNode) % width == width - 1 ? node - width + 1 : node + 1;
+    }
+
+    private int previousInRow(int node) {
+        return (node - firstNode) % width == 0 ? node + width - 1 : node - 1;
+    }
+
+    private void cover(int c) {
+        left[right[c]] = left[c];
+        right[left[c]] = right[c];
+        for (int i = down[c]; i != c; i = down[i]) {
+            for (int j = nextInRow(i); j != i; j = nextInRow(j)) {
+                up[down[j]] = up[j];
+                down[up[j]] = down[j];
+                size[column[j]]--;
+            }
+        }
+    }
+
+    private void uncover(int c) {
+        for (int i = up[c]; i != c; i = up[i]) {
+            for (int j = previousInRow(i); j != i; j = previousInRow(j)) {
+                size[column[j]]++;
+                up[down[j]] = j;
+                down[up[j]] = j;
+            }
+        }
+        left[right[c]] = c;
+        right[left[c]] = c;
+    }
+
+    // S heuristic: the open column with the fewest rows left
+    private int chooseColumn() {
+        int best = right[ROOT], bestSize = Integer.MAX_VALUE;
+        for (int c = right[ROOT]; c != ROOT; c = right[c]) {
+            if (size[c] < bestSize) {
+                bestSize = size[c];
+                best = c;
+                if (bestSize <= 1) break;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Searches for an exact cover and, if one exists, writes it into the board.
+     * The search is iterative, so depth is bounded by the number of empty cells and not the call stack.
+     *
+     * @return true if the board was completed.
+     */
+    public boolean solve() {
+        return solve(SolveBudget.unlimited()) == Sudoku.Outcome.SOLVED;
+    }
+
+    /**
+     * Like {@link #solve()}, but every row tried counts as a node against the budget.
+     */
+    public Sudoku.Outcome solve(SolveBudget budget) {
+        long found = search(1, budget, null);
+        if (found == TIMED_OUT) return Sudoku.Outcome.TIMEOUT;
+        if (found == 0) return Sudoku.Outcome.UNSOLVABLE;
+        for (int d = 0; d < depth; d++) {
+            int row = (chosen[d] - firstNode) / width;
+            board.set(rowCell[row], rowValue[row]);
+        }
+        return Sudoku.Outcome.SOLVED;
+    }
+
+    /**
+     * Counts exact covers without touching the board, stopping once {@code limit} are found.
+     */
+    long count(long limit) {
+        return search(limit, SolveBudget.unlimited(), null);
+    }
+
+    /**
+     * Counts exact covers into a total shared with other searches, stopping once the total reaches
+     * {@code limit}, whichever search found them. The total is polled every
+     * {@value SolveBudget#CHECK_INTERVAL} nodes.
+     */
+    void count(long limit, AtomicLong total) {
+        search(limit, SolveBudget.unlimited(), total);
+    }
+
+    private long search(long limit, SolveBudget budget, AtomicLong total) {
+        chosen = new int[columnCount + 1];
+        depth = 0;
+        long found = 0, nodes = 0, maxNodes = budget.maxNodes();
+        boolean descend = true;
+        while (true) {
+            if (++nodes > maxNodes || nodes % SolveBudget.CHECK_INTERVAL == 0 && budget.expired()) return TIMED_OUT;
+            if (total != null && nodes % SolveBudget.CHECK_INTERVAL == 0 && total.get() >= limit) return found;
+            if (descend) {
+                if (right[ROOT] == ROOT) {
+                    found++;
+                    if ((total != null ? total.incrementAndGet() >= limit : found == limit) || depth == 0) return found;
+                    depth--; // treat the cover as a dead end and keep enumerating
+                    descend = false;
+                    continue;
+                }
+                int c = chooseColumn();
+                cover(c);
+                chosen[depth] = down[c];
+            } else {
+                // retract the row tried at this depth and move to the next one in its column
+                int r = chosen[depth];
+                for (int j = previousInRow(r); j != r; j = previousInRow(j)) uncover(column[j]);
+                chosen[depth] = down[r];
+            }
+            int r = chosen[depth];
+            int c = column[r];
+            if (r == c) { // column exhausted
+                uncover(c);
+                if (depth == 0) return found;
+                depth--;
+                descend = false;
+                continue;
+            }
+            for (int j = nextInRow(r); j != r; j = nextInRow(j)) cover(column[j]);
+            depth++;
+            descend = true;
+        }
+    }
+}
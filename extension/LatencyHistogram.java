@@ -0,0 +1,71 @@
+/**
+ * Log-linear histogram of latencies in nanoseconds. Values below 32 get a bucket each; above that,
+ * every power of two is split into 32 buckets, so a reported percentile is within about 3% of the
+ * true value while the histogram stays a fixed 1.9k counters whatever the number of samples.
+ * The exact maximum is kept separately. Not thread-safe: record from one thread, or merge.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BITS = 5, SUB_BUCKETS = 1 << SUB_BITS;
+
+    private final long[] counts = new long[(64 - SUB_BITS) * SUB_BUCKETS];
+    private long count, sum, max;
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[bucket(value)]++;
+        count++;
+        sum += value;
+        max = Math.max(max, value);
+    }
+
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) counts[i] += other.counts[i];
+        count += other.count;
+        sum += other.sum;
+        max = Math.max(max, other.max);
+    }
+
+    private static int bucket(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value); // >= SUB_BITS
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    // midpoint of the values that land in the bucket
+    private static long representative(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        int sub = bucket % SUB_BUCKETS;
+        long lower = (long) (SUB_BUCKETS + sub) << (exponent - SUB_BITS);
+        return lower + (1L << (exponent - SUB_BITS)) / 2;
+    }
+
+    /**
+     * @param percentile between 0 and 100.
+     * @return the latency at or below which that share of the samples fall, 0 if there are none.
+     */
+    public long percentile(double percentile) {
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        if (rank >= count) return max;
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) return Math.min(representative(i), max);
+        }
+        return max;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long max() {
+        return max;
+    }
+
+    public double mean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+file name:      LatencyHistogramTests.java
+
+How to run:     java -ea LatencyHistogramTests
+*/
+
+public class LatencyHistogramTests {
+
+    public static void main(String[] args) {
+        // case 1: small values are exact
+        {
+            // setup
+            LatencyHistogram histogram = new LatencyHistogram();
+            for (int v = 1; v <= 20; v++) histogram.record(v);
+
+            // verify
+            System.out.println(histogram.percentile(50) + " == 10");
+            System.out.println(histogram.percentile(90) + " == 18");
+            System.out.println(histogram.max() + " == 20");
+
+            // test
+            assert histogram.count() == 20 && histogram.mean() == 10.5 : "Error in LatencyHistogram::record()";
+            assert histogram.percentile(50) == 10 && histogram.percentile(90) == 18 : "Error in LatencyHistogram::percentile()";
+            assert histogram.percentile(100) == 20 && histogram.max() == 20 : "Error in LatencyHistogram::max()";
+        }
+
+        // case 2: large values within 3%, tail and max kept apart
+        {
+            // setup
+            LatencyHistogram histogram = new LatencyHistogram();
+            LatencyHistogram other = new LatencyHistogram();
+            for (int i = 1; i <= 990; i++) histogram.record(i * 1_000_000L);
+            for (int i = 0; i < 10; i++) other.record(5_000_000_000L);
+            other.record(9_000_000_123L);
+            histogram.merge(other);
+            long p50 = histogram.percentile(50), p98 = histogram.percentile(98), p99 = histogram.percentile(99);
+
+            // verify
+            System.out.println(p50 + " ~= 496000000");
+            System.out.println(p98 + " ~= 981000000");
+            System.out.println(p99 + " ~= 5000000000");
+
+            // test
+            assert Math.abs(p50 - 496_000_000L) < 496_000_000L * 0.03 : "Error in LatencyHistogram::percentile()";
+            assert Math.abs(p98 - 981_000_000L) < 981_000_000L * 0.03 : "Error in LatencyHistogram::percentile()";
+            assert Math.abs(p99 - 5e9) < 5e9 * 0.03 : "Error in LatencyHistogram::merge()";
+            assert histogram.percentile(100) == histogram.max() : "Error in LatencyHistogram::percentile()";
+            assert histogram.max() == 9_000_000_123L && histogram.count() == 1001 : "Error in LatencyHistogram::merge()";
+        }
+        System.out.println("Done testing LatencyHistogram!");
+    }
+}
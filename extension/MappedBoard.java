@@ -0,0 +1,343 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+/**
+ * Board backend for configurations too large for the heap, e.g. {@code BoardConfig(4, 3)} with 81^4 cells.
+ * Values, locks, the candidate masks and the solver's decision stack live in direct buffers, either
+ * plain off-heap memory or regions of a memory-mapped file that can be closed and reopened to resume.
+ * There is no peer table and no undo trail: candidates are kept as one "values used" mask per line and
+ * block, located arithmetically, so a cell's candidates are what none of its units use and undoing
+ * an assignment just clears its bits again.
+ */
+public class MappedBoard implements AutoCloseable {
+    public enum Status {
+        SOLVED, UNSOLVABLE, PAUSED
+    }
+
+    private static final int MAGIC = 0x5344_4B4D; // "SDKM"
+    private static final int HEADER_BYTES = 64;
+    private static final int DEPTH_OFFSET = 12;
+    // the cell (plus one, 0 for none) a paused search was working on, and the next value it was to try
+    private static final int PENDING_CELL_OFFSET = 16, PENDING_VALUE_OFFSET = 20;
+
+    public final int dimensionCount, sideLength, blockLength, totalCells, wordsPerCell;
+    private final int linesPerDimension, blocksPerSide;
+    private final int[] strides, blockOffsets;
+    private final long lastWordMask;
+    private final ByteBuffer header, values, locks, used, decisions;
+    private final boolean wideValues;
+    private final FileChannel channel; // null when the board is not file-backed
+    private final int[] peerBuffer, unitBuffer;
+
+    private MappedBoard(int dimensionCount, int blockLength, FileChannel channel, boolean fresh) throws IOException {
+        this.dimensionCount = dimensionCount;
+        this.blockLength = blockLength;
+        this.channel = channel;
+        long side = 1, cells = 1;
+        for (int dim = 0; dim < dimensionCount; dim++) side *= blockLength;
+        for (int dim = 0; dim < dimensionCount; dim++) cells *= side;
+        if (side > Character.MAX_VALUE || cells > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format(
+                "Board with %d dimensions and block length %d has too many cells to index", dimensionCount, blockLength));
+        }
+        sideLength = (int) side;
+        totalCells = (int) cells;
+        linesPerDimension = totalCells / sideLength;
+        blocksPerSide = sideLength / blockLength;
+        wordsPerCell = (sideLength + 63) >>> 6;
+        lastWordMask = (sideLength & 63) == 0 ? -1L : (1L << (sideLength & 63)) - 1;
+        wideValues = sideLength > 0xFF;
+
+        strides = new int[dimensionCount];
+        int stride = 1;
+        for (int dim = dimensionCount - 1; dim >= 0; dim--) {
+            strides[dim] = stride;
+            stride *= sideLength;
+        }
+        // flat offset of every cell of a block from the block's first cell
+        blockOffsets = new int[sideLength];
+        for (int k = 0; k < sideLength; k++) {
+            int rest = k;
+            for (int dim = dimensionCount - 1; dim >= 0; dim--) {
+                blockOffsets[k] += (rest % blockLength) * strides[dim];
+                rest /= blockLength;
+            }
+        }
+        peerBuffer = new int[(dimensionCount + 1) * sideLength];
+        unitBuffer = new int[dimensionCount + 1];
+
+        long offset = 0;
+        header = region(offset, HEADER_BYTES);
+        offset += HEADER_BYTES;
+        values = region(offset, (long) totalCells * (wideValues ? 2 : 1));
+        offset += values.capacity();
+        locks = region(offset, ((totalCells + 63L) >>> 6) * 8);
+        offset += locks.capacity();
+        used = region(offset, (long) (dimensionCount + 1) * linesPerDimension * wordsPerCell * 8);
+        offset += used.capacity();
+        decisions = region(offset, (long) totalCells * 4);
+
+        if (fresh) {
+            header.putInt(0, MAGIC);
+            header.putInt(4, dimensionCount);
+            header.putInt(8, blockLength);
+            header.putInt(DEPTH_OFFSET, 0);
+        }
+    }
+
+    private ByteBuffer region(long offset, long bytes) throws IOException {
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Board region of " + bytes + " bytes exceeds a single mapping");
+        }
+        ByteBuffer buffer = channel == null
+            ? ByteBuffer.allocateDirect((int) bytes)
+            : channel.map(FileChannel.MapMode.READ_WRITE, offset, bytes);
+        return buffer.order(ByteOrder.nativeOrder());
+    }
+
+    // empty board in direct memory, outside the garbage-collected heap
+    public static MappedBoard offHeap(BoardConfig config) throws IOException {
+        return new MappedBoard(config.dimensionCount, config.blockLength, null, true);
+    }
+
+    // empty board backed by a new file, replacing any existing one
+    public static MappedBoard create(BoardConfig config, Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new MappedBoard(config.dimensionCount, config.blockLength, channel, true);
+    }
+
+    // reopen a board written by create(), including a solve that was paused
+    public static MappedBoard open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer head = ByteBuffer.allocate(12).order(ByteOrder.nativeOrder());
+        channel.read(head, 0);
+        if (head.getInt(0) != MAGIC) {
+            channel.close();
+            throw new IOException("Not a mapped board file: " + file);
+        }
+        return new MappedBoard(head.getInt(4), head.getInt(8), channel, false);
+    }
+
+    public int value(int index) {
+        return wideValues ? values.getChar(index << 1) : values.get(index) & 0xFF;
+    }
+
+    private void store(int index, int value) {
+        if (wideValues) values.putChar(index << 1, (char) value);
+        else values.put(index, (byte) value);
+    }
+
+    public boolean isLocked(int index) {
+        return (locks.getLong((index >>> 6) << 3) & (1L << index)) != 0;
+    }
+
+    public void lock(int index) {
+        int at = (index >>> 6) << 3;
+        locks.putLong(at, locks.getLong(at) | (1L << index));
+    }
+
+    // fills unitBuffer with the lines through the cell, one per dimension, then its block
+    private void units(int index) {
+        int block = 0;
+        for (int dim = 0; dim < dimensionCount; dim++) {
+            int stride = strides[dim];
+            unitBuffer[dim] = dim * linesPerDimension + index / (stride * sideLength) * stride + index % stride;
+            block = block * blocksPerSide + coordinate(index, dim) / blockLength;
+        }
+        unitBuffer[dimensionCount] = dimensionCount * linesPerDimension + block;
+    }
+
+    // byte offset of the word holding {@code value} in a unit's used mask
+    private int wordAt(int unit, int value) {
+        return (unit * wordsPerCell + ((value - 1) >>> 6)) << 3;
+    }
+
+    private void markUsed(int index, int value, boolean isUsed) {
+        units(index);
+        long bit = 1L << (value - 1);
+        for (int unit : unitBuffer) {
+            int at = wordAt(unit, value);
+            long word = used.getLong(at);
+            used.putLong(at, isUsed ? word | bit : word & ~bit);
+        }
+    }
+
+    // candidates of the cell in word w: the values none of its units use
+    private long candidateWord(int w) {
+        long taken = 0;
+        for (int unit : unitBuffer) taken |= used.getLong((unit * wordsPerCell + w) << 3);
+        return ~taken & (w == wordsPerCell - 1 ? lastWordMask : -1L);
+    }
+
+    public boolean candidate(int index, int value) {
+        units(index);
+        return (candidateWord((value - 1) >>> 6) & (1L << (value - 1))) != 0;
+    }
+
+    public int candidateCount(int index) {
+        units(index);
+        int count = 0;
+        for (int w = 0; w < wordsPerCell; w++) count += Long.bitCount(candidateWord(w));
+        return count;
+    }
+
+    // smallest candidate above {@code after}, or 0 if there is none
+    public int nextCandidate(int index, int after) {
+        units(index);
+        for (int w = after >>> 6; w < wordsPerCell; w++) {
+            long word = candidateWord(w);
+            if (w == after >>> 6) word &= -1L << (after & 63);
+            if (word != 0) return (w << 6) + Long.numberOfTrailingZeros(word) + 1;
+        }
+        return 0;
+    }
+
+    private int coordinate(int index, int dim) {
+        return (index / strides[dim]) % sideLength;
+    }
+
+    // fills peerBuffer with the distinct cells sharing a line or the block with {@code index}
+    private int peers(int index) {
+        int count = 0;
+        for (int dim = 0; dim < dimensionCount; dim++) {
+            int own = coordinate(index, dim), base = index - own * strides[dim];
+            for (int i = 0; i < sideLength; i++) {
+                if (i != own) peerBuffer[count++] = base + i * strides[dim];
+            }
+        }
+        int origin = 0;
+        for (int dim = 0; dim < dimensionCount; dim++) {
+            origin += (coordinate(index, dim) / blockLength) * blockLength * strides[dim];
+        }
+        for (int k = 0; k < sideLength; k++) {
+            int member = origin + blockOffsets[k], differing = 0;
+            for (int dim = 0; dim < dimensionCount && differing < 2; dim++) {
+                if (coordinate(member, dim) != coordinate(index, dim)) differing++;
+            }
+            if (differing >= 2) peerBuffer[count++] = member;
+        }
+        return count;
+    }
+
+    /**
+     * Assigns a value, which must be a candidate of the cell, and removes it from every peer.
+     *
+     * @return false if an empty peer was left without candidates; the value stays assigned.
+     */
+    public boolean set(int index, int value) {
+        store(index, value);
+        markUsed(index, value, true);
+        for (int p = 0, count = peers(index); p < count; p++) {
+            int peer = peerBuffer[p];
+            if (value(peer) == 0 && candidateCount(peer) == 0) return false;
+        }
+        return true;
+    }
+
+    // clears a cell, giving its value back to every unit it was in
+    public void unset(int index) {
+        markUsed(index, value(index), false);
+        store(index, 0);
+    }
+
+    // every cell filled and no value repeated among peers
+    public boolean validSolution() {
+        for (int cell = 0; cell < totalCells; cell++) {
+            int value = value(cell);
+            if (value == 0) return false;
+            for (int p = 0, count = peers(cell); p < count; p++) {
+                if (value(peerBuffer[p]) == value) return false;
+            }
+        }
+        return true;
+    }
+
+    // random locally valid clues, like Board.initializeFixedCells
+    public void initializeFixedCells(int numFixed, Random rand) {
+        while (numFixed-- > 0) {
+            int index = rand.nextInt(totalCells);
+            int value = rand.nextInt(sideLength) + 1;
+            if (value(index) == 0 && candidate(index, value)) {
+                set(index, value);
+                lock(index);
+            }
+        }
+    }
+
+    /**
+     * Backtracking search filling empty cells in index order, with forward checking on each
+     * assignment. The decision stack is stored with the board, so after PAUSED the board can be
+     * flushed, closed, reopened with {@link #open} and solved further from the same point.
+     *
+     * @param maxDecisions the number of assignments to try before pausing.
+     * @return SOLVED, UNSOLVABLE, or PAUSED if the budget ran out first.
+     */
+    public Status solve(long maxDecisions) {
+        int depth = header.getInt(DEPTH_OFFSET);
+        int pending = header.getInt(PENDING_CELL_OFFSET) - 1;
+        int cursor = depth == 0 ? 0 : decision(depth - 1) + 1; // every cell before it is filled
+        int cell = -1, value = 0;
+        Status status = Status.PAUSED;
+        try {
+            while (true) {
+                if (pending >= 0) {
+                    // resume the cell the last call paused on, at the value it had not tried yet
+                    cell = pending;
+                    value = header.getInt(PENDING_VALUE_OFFSET);
+                    pending = -1;
+                } else {
+                    while (cursor < totalCells && value(cursor) != 0) cursor++;
+                    if (cursor == totalCells) return status = Status.SOLVED;
+                    cell = cursor;
+                    value = nextCandidate(cell, 0);
+                }
+                while (true) {
+                    if (maxDecisions-- <= 0) return status = Status.PAUSED;
+                    if (value != 0) {
+                        if (set(cell, value)) break;
+                        unset(cell);
+                        value = nextCandidate(cell, value);
+                        continue;
+                    }
+                    // no value left for this cell: reopen the latest decision
+                    if (depth == 0) return status = Status.UNSOLVABLE;
+                    cell = decision(--depth);
+                    int tried = value(cell);
+                    unset(cell);
+                    value = nextCandidate(cell, tried);
+                }
+                decisions.putInt(depth++ << 2, cell);
+                cursor = cell + 1;
+            }
+        } finally {
+            header.putInt(DEPTH_OFFSET, depth);
+            header.putInt(PENDING_CELL_OFFSET, status == Status.PAUSED ? cell + 1 : 0);
+            header.putInt(PENDING_VALUE_OFFSET, status == Status.PAUSED ? value : 0);
+        }
+    }
+
+    private int decision(int depth) {
+        return decisions.getInt(depth << 2);
+    }
+
+    // write every region back to the file; a no-op off-heap
+    public void flush() {
+        if (channel == null) return;
+        for (ByteBuffer buffer : new ByteBuffer[] {header, values, locks, used, decisions}) {
+            ((MappedByteBuffer) buffer).force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        if (channel != null) channel.close();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+file name:      MappedBoardTests.java
+
+How to run:     java -ea MappedBoardTests
+*/
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+public class MappedBoardTests {
+
+    public static void main(String[] args) throws Exception {
+        // case 1: set and unset keep the candidate masks exact
+        {
+            // setup
+            MappedBoard board = MappedBoard.offHeap(new BoardConfig(2, 3));
+            boolean first = board.set(0, 5);
+            boolean second = board.set(10, 5); // same block, different lines
+
+            // verify
+            System.out.println(board.candidate(1, 5) + " == false");
+            System.out.println(board.candidate(80, 5) + " == true");
+            System.out.println(board.candidateCount(2) + " == 8");
+
+            // test
+            assert first && second : "Error in MappedBoard::set()";
+            assert !board.candidate(1, 5) && !board.candidate(72, 5) && !board.candidate(20, 5) : "Error in MappedBoard::set()";
+            assert board.candidate(80, 5) && board.candidateCount(2) == 8 : "Error in MappedBoard::candidateCount()";
+            board.unset(10);
+            assert !board.candidate(1, 5) : "Error in MappedBoard::unset()"; // still held by cell 0
+            assert board.candidate(64, 5) && board.value(10) == 0 : "Error in MappedBoard::unset()";
+            board.unset(0);
+            assert board.candidate(1, 5) && board.candidateCount(20) == 9 : "Error in MappedBoard::unset()";
+            board.close();
+        }
+
+        // case 2: a paused solve resumes from the file
+        {
+            // setup
+            Path file = Files.createTempFile("board", ".map");
+            MappedBoard board = MappedBoard.create(new BoardConfig(2, 3), file);
+            board.initializeFixedCells(10, new Random(7));
+            MappedBoard.Status paused = board.solve(20);
+            board.close();
+            MappedBoard resumed = MappedBoard.open(file);
+            MappedBoard.Status status = resumed.solve(Long.MAX_VALUE);
+
+            // verify
+            System.out.println(paused + " == PAUSED");
+            System.out.println(status + " == SOLVED");
+
+            // test
+            assert paused == MappedBoard.Status.PAUSED : "Error in MappedBoard::solve()";
+            assert status == MappedBoard.Status.SOLVED && resumed.validSolution() : "Error in MappedBoard::open()";
+            resumed.close();
+            Files.delete(file);
+        }
+
+        // case 3: many small budgets end where one unlimited solve does
+        {
+            // setup
+            int[][] puzzles = {{18, 0}, {18, 1}, {18, 7}, {18, 20}, {18, 22}, {18, 24}, {25, 51}}; // {clues, seed}
+            int[] chunks = {50, 200, 1000};
+            int agree = 0, runs = 0, unsolvable = 0;
+            for (int[] puzzle : puzzles) {
+                MappedBoard whole = MappedBoard.offHeap(new BoardConfig(2, 3));
+                whole.initializeFixedCells(puzzle[0], new Random(puzzle[1]));
+                MappedBoard.Status expected = whole.solve(Long.MAX_VALUE);
+                if (expected == MappedBoard.Status.UNSOLVABLE) unsolvable++;
+                for (int chunk : chunks) {
+                    MappedBoard board = MappedBoard.offHeap(new BoardConfig(2, 3));
+                    board.initializeFixedCells(puzzle[0], new Random(puzzle[1]));
+                    MappedBoard.Status status = MappedBoard.Status.PAUSED;
+                    for (int calls = 0; status == MappedBoard.Status.PAUSED && calls < 200_000; calls++) {
+                        status = board.solve(chunk);
+                    }
+                    runs++;
+                    if (status == expected && (status != MappedBoard.Status.SOLVED || board.validSolution())) agree++;
+                }
+            }
+
+            // verify
+            System.out.println(agree + " == " + runs);
+            System.out.println(unsolvable + " == 1");
+
+            // test
+            assert agree == runs : "Error in MappedBoard::solve() resuming after PAUSED";
+            assert unsolvable == 1 : "Error in MappedBoard::solve()";
+        }
+
+        // case 4: wide values and two mask words per cell
+        {
+            // setup
+            MappedBoard board = MappedBoard.offHeap(new BoardConfig(2, 9));
+            board.set(0, 70);
+
+            // verify
+            System.out.println(board.wordsPerCell + " == 2");
+            System.out.println(board.value(0) + " == 70");
+
+            // test
+            assert board.wordsPerCell == 2 && board.value(0) == 70 : "Error in MappedBoard::value()";
+            assert !board.candidate(80, 70) && !board.candidate(81, 70) && board.candidate(738, 70) : "Error in MappedBoard::set()";
+            assert board.nextCandidate(1, 69) == 71 : "Error in MappedBoard::nextCandidate()";
+            board.close();
+        }
+        System.out.println("Done testing MappedBoard!");
+    }
+}
@@ -0,0 +1,177 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Binary container for many boards of one {@link BoardConfig}, read through memory mappings.
+ * Layout: a header (magic, dimensionCount, blockLength, count, index offset), the records, then an
+ * index of {@code count} record offsets. A record is every cell value in flat index order, packed
+ * LSB-first in just enough bits for {@code sideLength} (4 bits for 9x9, 5 for 16x16). Opening a file
+ * only reads the header and index; puzzle k is decoded on demand from a lazily mapped window.
+ */
+public class PuzzleFile implements AutoCloseable {
+    private static final int MAGIC = 0x5344_4B50; // "SDKP"
+    private static final int HEADER_BYTES = 24;
+    private static final long WINDOW = 1L << 30; // records starting in window w are read from mapping w
+
+    public final BoardConfig config;
+    public final int count;
+    private final int totalCells, bitsPerValue, recordBytes;
+    private final FileChannel channel;
+    private final long[] offsets;
+    private final MappedByteBuffer[] windows;
+
+    private PuzzleFile(FileChannel channel) throws IOException {
+        this.channel = channel;
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException("Not a puzzle file");
+        }
+        config = new BoardConfig(header.getInt(4), header.getInt(8));
+        count = header.getInt(12);
+        long indexOffset = header.getLong(16);
+        totalCells = cellCount(config);
+        bitsPerValue = bitsPerValue(config);
+        recordBytes = recordBytes(totalCells, bitsPerValue);
+        if (recordBytes > WINDOW) {
+            throw new IOException("Records of " + recordBytes + " bytes are too large to map");
+        }
+        offsets = new long[count];
+        channel.map(FileChannel.MapMode.READ_ONLY, indexOffset, (long) count * 8).asLongBuffer().get(offsets);
+        windows = new MappedByteBuffer[(int) (channel.size() / WINDOW) + 1];
+    }
+
+    public static PuzzleFile open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new PuzzleFile(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // a BoardConfig does not carry its cell count, only the topology does
+    private static int cellCount(BoardConfig config) {
+        long cells = 1;
+        for (int dim = 0; dim < config.dimensionCount; dim++) cells *= config.sideLength;
+        if (cells > Integer.MAX_VALUE) throw new IllegalArgumentException("Too many cells per board: " + cells);
+        return (int) cells;
+    }
+
+    private static int bitsPerValue(BoardConfig config) {
+        return 32 - Integer.numberOfLeadingZeros(config.sideLength);
+    }
+
+    private static int recordBytes(int cells, int bits) {
+        return (int) (((long) cells * bits + 7) >>> 3);
+    }
+
+    /**
+     * Decodes the cell values of puzzle k, 0 for empty, into {@code values}.
+     */
+    public void read(int k, int[] values) throws IOException {
+        long offset = offsets[k];
+        int w = (int) (offset / WINDOW);
+        MappedByteBuffer window = windows[w];
+        if (window == null) {
+            long start = w * WINDOW;
+            long size = Math.min(WINDOW + recordBytes, channel.size() - start);
+            window = windows[w] = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+        }
+        int position = (int) (offset - w * WINDOW);
+        long bits = 0, mask = (1L << bitsPerValue) - 1;
+        int available = 0;
+        for (int cell = 0; cell < totalCells; cell++) {
+            while (available < bitsPerValue) {
+                bits |= (long) (window.get(position++) & 0xFF) << available;
+                available += 8;
+            }
+            values[cell] = (int) (bits & mask);
+            bits >>>= bitsPerValue;
+            available -= bitsPerValue;
+        }
+    }
+
+    /**
+     * Puzzle k as a new board, with every given value set and locked as a clue.
+     */
+    public Board board(int k) throws IOException {
+        int[] values = new int[totalCells];
+        read(k, values);
+        Board board = new Board(config);
+        for (int index = 0; index < totalCells; index++) {
+            if (values[index] == 0) continue;
+            board.set(index, values[index]);
+            board.lock(index);
+        }
+        return board;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Appends boards to a new puzzle file; the index and header are written by {@link #close()}.
+     */
+    public static class Writer implements AutoCloseable {
+        private final BoardConfig config;
+        private final FileChannel channel;
+        private final int totalCells, bitsPerValue;
+        private final ByteBuffer record;
+        private long[] offsets = new long[1024];
+        private int count;
+        private long position = HEADER_BYTES;
+
+        public Writer(Path file, BoardConfig config) throws IOException {
+            this.config = config;
+            totalCells = cellCount(config);
+            bitsPerValue = bitsPerValue(config);
+            record = ByteBuffer.allocate(recordBytes(totalCells, bitsPerValue));
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        public void add(Board board) throws IOException {
+            if (board.dimensionCount != config.dimensionCount || board.blockLength != config.blockLength) {
+                throw new IllegalArgumentException("Board does not match the file's configuration");
+            }
+            record.clear();
+            long bits = 0;
+            int pending = 0;
+            for (int cell = 0; cell < totalCells; cell++) {
+                bits |= (long) board.value(cell) << pending;
+                pending += bitsPerValue;
+                while (pending >= 8) {
+                    record.put((byte) bits);
+                    bits >>>= 8;
+                    pending -= 8;
+                }
+            }
+            if (pending > 0) record.put((byte) bits);
+            record.flip();
+            if (count == offsets.length) offsets = Arrays.copyOf(offsets, count * 2);
+            offsets[count++] = position;
+            while (record.hasRemaining()) position += channel.write(record, position);
+        }
+
+        @Override
+        public void close() throws IOException {
+            ByteBuffer index = ByteBuffer.allocate(count * 8);
+            index.asLongBuffer().put(offsets, 0, count);
+            long indexOffset = position;
+            while (index.hasRemaining()) position += channel.write(index, position);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(config.dimensionCount).putInt(config.blockLength).putInt(count).putLong(indexOffset);
+            header.flip();
+            channel.write(header, 0);
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+file name:      PuzzleFileTests.java
+
+How to run:     java -ea PuzzleFileTests
+*/
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+public class PuzzleFileTests {
+
+    private static Board puzzle(BoardConfig config, int numFixed, long seed) {
+        Board board = new Board(config);
+        board.initializeFixedCells(numFixed, new Random(seed));
+        return board;
+    }
+
+    private static boolean sameBoard(Board a, Board b) {
+        for (int i = 0; i < a.totalCells; i++) {
+            if (a.value(i) != b.value(i) || a.isLocked(i) != b.isLocked(i)) return false;
+        }
+        return true;
+    }
+
+    public static void main(String[] args) throws Exception {
+        // case 1: 9x9 boards read back in any order
+        {
+            // setup
+            BoardConfig config = new BoardConfig(2, 3);
+            Path file = Files.createTempFile("puzzles", ".bin");
+            Board[] boards = new Board[100];
+            try (PuzzleFile.Writer writer = new PuzzleFile.Writer(file, config)) {
+                for (int k = 0; k < boards.length; k++) {
+                    boards[k] = puzzle(config, k % 40, k);
+                    writer.add(boards[k]);
+                }
+            }
+            PuzzleFile puzzles = PuzzleFile.open(file);
+
+            // verify
+            System.out.println(puzzles.count + " == 100");
+            System.out.println(Files.size(file) + " == " + (24 + 100 * 41 + 100 * 8));
+
+            // test
+            assert puzzles.count == 100 : "Error in PuzzleFile::open()";
+            assert Files.size(file) == 24 + 100 * 41 + 100 * 8 : "Error in PuzzleFile.Writer::add()"; // 81 cells * 4 bits
+            assert puzzles.config.sideLength == 9 : "Error in PuzzleFile::open()";
+            for (int k = boards.length - 1; k >= 0; k -= 7) {
+                assert sameBoard(boards[k], puzzles.board(k)) : "Error in PuzzleFile::board() puzzle " + k;
+            }
+            puzzles.close();
+            Files.delete(file);
+        }
+
+        // case 2: 16 symbols need 5 bits, and solved boards round-trip too
+        {
+            // setup
+            BoardConfig config = new BoardConfig(2, 4);
+            Path file = Files.createTempFile("solutions", ".bin");
+            Board board = puzzle(config, 30, 1);
+            Board solved = new Board(board);
+            new Sudoku(solved, Sudoku.CellSelectionStrategy.MIN_CANDIDATES).solve(Sudoku.Engine.DANCING_LINKS);
+            try (PuzzleFile.Writer writer = new PuzzleFile.Writer(file, config)) {
+                writer.add(board);
+                writer.add(solved);
+            }
+            PuzzleFile puzzles = PuzzleFile.open(file);
+            int[] values = new int[256];
+            puzzles.read(1, values);
+
+            // verify
+            System.out.println(Files.size(file) + " == " + (24 + 2 * 160 + 2 * 8));
+            System.out.println(values[255] + " == " + solved.value(255));
+
+            // test
+            assert Files.size(file) == 24 + 2 * 160 + 2 * 8 : "Error in PuzzleFile.Writer::add()";
+            assert sameBoard(board, puzzles.board(0)) : "Error in PuzzleFile::board()";
+            for (int i = 0; i < 256; i++) {
+                assert values[i] == solved.value(i) && values[i] > 0 : "Error in PuzzleFile::read()";
+            }
+            puzzles.close();
+            Files.delete(file);
+        }
+        System.out.println("Done testing PuzzleFile!");
+    }
+}
@@ -0,0 +1,103 @@
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Generates puzzles with exactly one solution, unlike {@link Board#initializeFixedCells}, whose random
+ * clues are only locally valid. A puzzle starts as a complete random grid; clues are then removed in
+ * random order, keeping a removal only if the puzzle still has a single solution, until the target
+ * clue count is reached or no clue can go. Batches are generated in parallel, puzzle k of a batch
+ * from its own seed, so a batch is reproducible whatever the thread count.
+ */
+public class PuzzleGenerator {
+    private final BoardConfig config;
+    private final int totalCells;
+    private final long seed;
+
+    public PuzzleGenerator(BoardConfig config, long seed) {
+        this.config = config;
+        this.totalCells = config.topology().totalCells;
+        this.seed = seed;
+    }
+
+    /**
+     * @return {@code count} unique-solution puzzles with the clues locked. Each has {@code targetClues}
+     *         clues, or more if its grid admits no smaller unique puzzle along the removal order tried.
+     */
+    public List<Board> generate(int count, int targetClues) {
+        return IntStream.range(0, count).parallel()
+            .mapToObj(k -> generate(targetClues, new Random(seed + k)))
+            .collect(Collectors.toList());
+    }
+
+    public Board generate(int targetClues, Random rand) {
+        int[] values = fullGrid(rand);
+        int[] order = IntStream.range(0, totalCells).toArray();
+        shuffle(order, rand);
+        int clues = totalCells;
+        for (int i = 0; i < totalCells && clues > targetClues; i++) {
+            int cell = order[i], value = values[cell];
+            values[cell] = 0;
+            if (solutionCount(values) == 1) clues--;
+            else values[cell] = value;
+        }
+        return board(values, true);
+    }
+
+    // a few random clues completed by the solver, then the symbols relabelled at random
+    private int[] fullGrid(Random rand) {
+        while (true) {
+            Board board = new Board(config);
+            board.initializeFixedCells(config.sideLength, rand);
+            if (!new DancingLinks(board).solve()) continue;
+            int[] relabel = IntStream.rangeClosed(0, config.sideLength).toArray();
+            shuffle(relabel, rand, 1);
+            int[] values = new int[totalCells];
+            for (int cell = 0; cell < totalCells; cell++) values[cell] = relabel[board.value(cell)];
+            return values;
+        }
+    }
+
+    // 0, 1 or 2, where 2 means "more than one"
+    private long solutionCount(int[] values) {
+        return new Sudoku(board(values, false), Sudoku.CellSelectionStrategy.MIN_CANDIDATES).countSolutions(2);
+    }
+
+    private Board board(int[] values, boolean lock) {
+        Board board = new Board(config);
+        for (int cell = 0; cell < totalCells; cell++) {
+            if (values[cell] == 0) continue;
+            board.set(cell, values[cell]);
+            if (lock) board.lock(cell);
+        }
+        return board;
+    }
+
+    private static void shuffle(int[] array, Random rand) {
+        shuffle(array, rand, 0);
+    }
+
+    // Fisher-Yates over array[from ..]
+    private static void shuffle(int[] array, Random rand, int from) {
+        for (int i = array.length - 1; i > from; i--) {
+            int j = from + rand.nextInt(i - from + 1);
+            int t = array[i];
+            array[i] = array[j];
+            array[j] = t;
+        }
+    }
+
+    // usage: java PuzzleGenerator <dimensions> <blockLength> <count> <clues> <output file>
+    public static void main(String[] args) throws Exception {
+        BoardConfig config = new BoardConfig(Integer.parseInt(args[0]), Integer.parseInt(args[1]));
+        long start = System.currentTimeMillis();
+        List<Board> puzzles = new PuzzleGenerator(config, System.nanoTime())
+            .generate(Integer.parseInt(args[2]), Integer.parseInt(args[3]));
+        try (PuzzleFile.Writer writer = new PuzzleFile.Writer(Path.of(args[4]), config)) {
+            for (Board puzzle : puzzles) writer.add(puzzle);
+        }
+        System.out.printf("Generated %d puzzles in %d ms%n", puzzles.size(), System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,61 @@
+/*
+file name:      PuzzleGeneratorTests.java
+
+How to run:     java -ea PuzzleGeneratorTests
+*/
+
+import java.util.List;
+
+public class PuzzleGeneratorTests {
+
+    private static int clues(Board board) {
+        int clues = 0;
+        for (int i = 0; i < board.totalCells; i++) {
+            if (board.value(i) != 0) {
+                assert board.isLocked(i) : "Error in PuzzleGenerator::generate() clue not locked";
+                clues++;
+            }
+        }
+        return clues;
+    }
+
+    public static void main(String[] args) {
+        // case 1: every 9x9 puzzle has exactly one solution and the requested clues
+        {
+            // setup
+            List<Board> puzzles = new PuzzleGenerator(new BoardConfig(2, 3), 42).generate(8, 30);
+
+            // verify
+            System.out.println(puzzles.size() + " == 8");
+            System.out.println(clues(puzzles.get(0)) + " == 30");
+
+            // test
+            assert puzzles.size() == 8 : "Error in PuzzleGenerator::generate()";
+            for (Board puzzle : puzzles) {
+                assert clues(puzzle) == 30 : "Error in PuzzleGenerator::generate()";
+                assert new DancingLinks(new Board(puzzle)).count(2) == 1 : "Error in PuzzleGenerator::generate()";
+            }
+        }
+
+        // case 2: the same seed gives the same batch; too few clues stops at a minimal puzzle
+        {
+            // setup
+            BoardConfig config = new BoardConfig(2, 2);
+            List<Board> first = new PuzzleGenerator(config, 7).generate(4, 0);
+            List<Board> second = new PuzzleGenerator(config, 7).generate(4, 0);
+
+            // verify
+            System.out.println(clues(first.get(0)) + " >= 4");
+
+            // test
+            for (int k = 0; k < 4; k++) {
+                assert clues(first.get(k)) >= 4 : "Error in PuzzleGenerator::generate()";
+                assert new DancingLinks(new Board(first.get(k))).count(2) == 1 : "Error in PuzzleGenerator::generate()";
+                for (int i = 0; i < 16; i++) {
+                    assert first.get(k).value(i) == second.get(k).value(i) : "Error in PuzzleGenerator::generate() seed";
+                }
+            }
+        }
+        System.out.println("Done testing PuzzleGenerator!");
+    }
+}
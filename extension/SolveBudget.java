@@ -0,0 +1,49 @@
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limits on a single solve: a wall-clock deadline, a maximum number of search nodes (decisions)
+ * and an external cancellation token. A solve that runs out of budget returns
+ * {@link Sudoku.Outcome#TIMEOUT} instead of SOLVED or UNSOLVABLE. Budgets are immutable; the
+ * {@code with} methods return narrowed copies.
+ *
+ * @param deadline  {@link System#nanoTime()} value after which the solve gives up.
+ * @param maxNodes  number of decisions after which the solve gives up.
+ * @param cancelled set by another thread to stop the solve.
+ */
+public record SolveBudget(long deadline, long maxNodes, AtomicBoolean cancelled) {
+    // how many nodes pass between the comparatively expensive clock and token checks
+    static final int CHECK_INTERVAL = 64;
+
+    public static SolveBudget unlimited() {
+        return new SolveBudget(Long.MAX_VALUE, Long.MAX_VALUE, new AtomicBoolean());
+    }
+
+    public static SolveBudget of(Duration timeout) {
+        return unlimited().withTimeout(timeout);
+    }
+
+    public SolveBudget withTimeout(Duration timeout) {
+        long now = System.nanoTime(), nanos = timeout.toNanos();
+        long sum = now + nanos; // saturates instead of wrapping; nanoTime may be negative
+        long newDeadline = ((now ^ sum) & (nanos ^ sum)) < 0 ? Long.MAX_VALUE : sum;
+        return new SolveBudget(Math.min(deadline, newDeadline), maxNodes, cancelled);
+    }
+
+    public SolveBudget withMaxNodes(long nodes) {
+        return new SolveBudget(deadline, Math.min(maxNodes, nodes), cancelled);
+    }
+
+    public SolveBudget withToken(AtomicBoolean token) {
+        return new SolveBudget(deadline, maxNodes, token);
+    }
+
+    public void cancel() {
+        cancelled.set(true);
+    }
+
+    // true once the deadline has passed or the token is set; the node limit is checked by the caller
+    public boolean expired() {
+        return cancelled.get() || deadline != Long.MAX_VALUE && System.nanoTime() - deadline >= 0;
+    }
+}
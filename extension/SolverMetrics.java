@@ -0,0 +1,141 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Search statistics, aggregated over any number of solves and threads. Attach an instance to a
+ * {@link Sudoku} with {@link Sudoku#recordMetrics}; the backtracking loop keeps its counts in locals
+ * and adds them here once per search, so sharing one instance between threads costs a few
+ * {@link LongAdder} updates per solve. Use a fresh instance to get the numbers of a single solve.
+ */
+public class SolverMetrics {
+    public static final int HISTOGRAM_BUCKETS = 65; // candidate counts 0..63, and 64 or more
+
+    private final LongAdder solves = new LongAdder(), solved = new LongAdder(), unsolvable = new LongAdder(),
+        timeouts = new LongAdder();
+    private final LongAdder decisions = new LongAdder(), backtracks = new LongAdder(), maskUpdates = new LongAdder();
+    private final LongAdder selectionNanos = new LongAdder(), propagationNanos = new LongAdder();
+    private final LongAccumulator maxDepth = new LongAccumulator(Math::max, 0);
+    private final LongAdder[] candidatesAtSelection = new LongAdder[HISTOGRAM_BUCKETS];
+
+    public SolverMetrics() {
+        for (int i = 0; i < HISTOGRAM_BUCKETS; i++) candidatesAtSelection[i] = new LongAdder();
+    }
+
+    void recordOutcome(Sudoku.Outcome outcome) {
+        solves.increment();
+        switch (outcome) {
+            case SOLVED -> solved.increment();
+            case UNSOLVABLE -> unsolvable.increment();
+            case TIMEOUT -> timeouts.increment();
+        }
+    }
+
+    // the totals of one search; histogram[k] counts selections of a cell with k candidates
+    void recordSearch(long decisions, long backtracks, int maxDepth, long maskUpdates, long[] histogram,
+            long selectionNanos, long propagationNanos) {
+        this.decisions.add(decisions);
+        this.backtracks.add(backtracks);
+        this.maxDepth.accumulate(maxDepth);
+        this.maskUpdates.add(maskUpdates);
+        this.selectionNanos.add(selectionNanos);
+        this.propagationNanos.add(propagationNanos);
+        for (int k = 0; k < histogram.length; k++) {
+            if (histogram[k] != 0) candidatesAtSelection[Math.min(k, HISTOGRAM_BUCKETS - 1)].add(histogram[k]);
+        }
+    }
+
+    public long solves() { return solves.sum(); }
+    public long solved() { return solved.sum(); }
+    public long unsolvable() { return unsolvable.sum(); }
+    public long timeouts() { return timeouts.sum(); }
+    public long decisions() { return decisions.sum(); }
+    public long backtracks() { return backtracks.sum(); }
+    public long maxDepth() { return maxDepth.get(); }
+    public long maskUpdates() { return maskUpdates.sum(); }
+    public long selectionNanos() { return selectionNanos.sum(); }
+    public long propagationNanos() { return propagationNanos.sum(); }
+
+    public long candidatesAtSelection(int candidates) {
+        return candidatesAtSelection[Math.min(candidates, HISTOGRAM_BUCKETS - 1)].sum();
+    }
+
+    public static String csvHeader() {
+        return "solves,solved,unsolvable,timeouts,decisions,backtracks,maxDepth,maskUpdates,selectionNanos,propagationNanos";
+    }
+
+    // one row matching csvHeader(); the histogram is left to the JSON and Prometheus forms
+    public String toCsv() {
+        return solves() + "," + solved() + "," + unsolvable() + "," + timeouts() + "," + decisions() + ","
+            + backtracks() + "," + maxDepth() + "," + maskUpdates() + "," + selectionNanos() + "," + propagationNanos();
+    }
+
+    public String toJson() {
+        StringBuilder sb = new StringBuilder("{");
+        String[] names = csvHeader().split(",");
+        String[] values = toCsv().split(",");
+        for (int i = 0; i < names.length; i++) {
+            sb.append('"').append(names[i]).append("\":").append(values[i]).append(',');
+        }
+        sb.append("\"candidatesAtSelection\":[");
+        for (int k = 0; k < HISTOGRAM_BUCKETS; k++) {
+            if (k > 0) sb.append(',');
+            sb.append(candidatesAtSelection(k));
+        }
+        return sb.append("]}").toString();
+    }
+
+    // Prometheus text exposition format
+    public String toPrometheus() {
+        StringBuilder sb = new StringBuilder();
+        counter(sb, "sudoku_solves_total", "Solves finished, by outcome", null);
+        sb.append("sudoku_solves_total{outcome=\"solved\"} ").append(solved()).append('\n');
+        sb.append("sudoku_solves_total{outcome=\"unsolvable\"} ").append(unsolvable()).append('\n');
+        sb.append("sudoku_solves_total{outcome=\"timeout\"} ").append(timeouts()).append('\n');
+        counter(sb, "sudoku_decisions_total", "Values tried by the backtracking search", decisions());
+        counter(sb, "sudoku_backtracks_total", "Assignments undone", backtracks());
+        counter(sb, "sudoku_mask_updates_total", "Candidates removed by assignments and propagation", maskUpdates());
+        counter(sb, "sudoku_selection_seconds_total", "Time spent choosing cells", selectionNanos() / 1e9);
+        counter(sb, "sudoku_propagation_seconds_total", "Time spent assigning and propagating", propagationNanos() / 1e9);
+        sb.append("# HELP sudoku_max_depth Deepest decision stack seen\n# TYPE sudoku_max_depth gauge\n");
+        sb.append("sudoku_max_depth ").append(maxDepth()).append('\n');
+        counter(sb, "sudoku_selections_total", "Cells chosen, by candidate count", null);
+        for (int k = 0; k < HISTOGRAM_BUCKETS; k++) {
+            long count = candidatesAtSelection(k);
+            if (count == 0) continue;
+            String label = k == HISTOGRAM_BUCKETS - 1 ? k + "+" : String.valueOf(k);
+            sb.append("sudoku_selections_total{candidates=\"").append(label).append("\"} ").append(count).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static void counter(StringBuilder sb, String name, String help, Number value) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(" counter\n");
+        if (value != null) sb.append(name).append(' ').append(value).append('\n');
+    }
+
+    /**
+     * Serves {@link #toPrometheus()} at {@code http://localhost:port/metrics}, on the loopback interface
+     * only, until the returned server is stopped.
+     */
+    public HttpServer serve(int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", exchange -> {
+            byte[] body = toPrometheus().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        return server;
+    }
+}
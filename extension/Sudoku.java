@@ -2,10 +2,14 @@ import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
 import java.util.List;
 import java.util.concurrent.*;
-import java.util.stream.IntStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.imageio.ImageIO;
 
@@ -14,25 +18,46 @@ public class Sudoku {
         MIN_CANDIDATES, RANDOM, MAX_CONSTRAINTS
     }
 
+    public enum Engine {
+        BACKTRACKING, DANCING_LINKS
+    }
+
+    public enum Outcome {
+        SOLVED, UNSOLVABLE, TIMEOUT
+    }
+
+    private static final long SEQUENTIAL_COUNT_LIMIT = 256; // countSolutions limits above this go parallel
+
     private Board board;
     private CellSelectionStrategy strategy;
+    private Random random = new Random();
+    private SolverMetrics metrics; // null unless recordMetrics was called
 
     public Sudoku(BoardConfig config, int numLocked, CellSelectionStrategy strategy) {
         this.strategy = strategy;
         this.board = new Board(config);
         board.initializeFixedCells(numLocked);
     }
-    // bitmask for each cell indicating which values are available
-    private int findNextValue(int[] coordinates) {
-        int index = board.getFlatIndex(coordinates);
-        int available = board.availableValues[index];
-        for (int val = 1; val <= board.sideLength; val++) {
-            if ((available & (1 << (val - 1))) != 0) return val;
-        }
-        return 0;
+
+    Sudoku(Board board, CellSelectionStrategy strategy) {
+        this.strategy = strategy;
+        this.board = board;
+    }
+
+    Sudoku(Board board, CellSelectionStrategy strategy, long seed) {
+        this(board, strategy);
+        this.random = new Random(seed);
+    }
+
+    // adds the counts of every later solve, including the searches of parallel and portfolio solves
+    public void recordMetrics(SolverMetrics metrics) {
+        this.metrics = metrics;
     }
 
-    private Cell findNextCell() {
+    // index of the next cell to decide, or -1 once every cell is filled
+    int findNextCell() {
+        // a cell without candidates is a dead end whatever the strategy, take it first
+        if (board.buckets.hasWipeout()) return board.buckets.min();
         return switch (strategy) {
             case MIN_CANDIDATES -> selectByMinCandidates();
             case RANDOM -> selectRandom();
@@ -40,92 +65,323 @@ public class Sudoku {
         };
     }
 
-    private Cell selectRandom() {
-        ArrayList<Cell> candidates = new ArrayList<>();
-        for (Cell c : board.cells) {
-            if (!c.isLocked() && c.getValue() == 0) {
-                candidates.add(c);
-            }
-        }
-        if (candidates.isEmpty()) return null;
-        return candidates.get(new Random().nextInt(candidates.size()));
+    private boolean isOpen(int index) {
+        return !board.isLocked(index) && board.value(index) == 0;
     }
 
-    private Cell selectByMinCandidates() {
-        Cell bestCell = null;
-        int minOptions = Integer.MAX_VALUE;
+    // uniform over the open cells: count them, then walk to the randomly chosen one
+    private int selectRandom() {
+        int open = board.buckets.emptyCells();
+        if (open == 0) return -1;
+        int target = random.nextInt(open);
         for (int i = 0; i < board.totalCells; i++) {
-            Cell c = board.cells[i];
-            if (c.isLocked() || c.getValue() != 0) continue;
-            int options = Integer.bitCount(board.availableValues[i]);
-            if (options < minOptions) {
-                minOptions = options;
-                bestCell = c;
-            }
+            if (isOpen(i) && target-- == 0) return i;
         }
-        return bestCell;
+        return -1;
+    }
+
+    private int selectByMinCandidates() {
+        return board.buckets.min();
     }
 
-    private Cell selectByMaxConstraints() {
+    private int selectByMaxConstraints() {
         int maxFilled = -1;
-        Cell bestCell = null;
+        int bestCell = -1;
         for (int i = 0; i < board.totalCells; i++) {
-            Cell c = board.cells[i];
-            if (c.isLocked() || c.getValue() != 0) continue;
-            int filled = countFilledConstraints(c.getCoordinates());
+            if (!isOpen(i)) continue;
+            int filled = countFilledConstraints(i);
             if (filled > maxFilled) {
                 maxFilled = filled;
-                bestCell = c;
+                bestCell = i;
             }
         }
         return bestCell;
     }
 
-    private int countFilledConstraints(int[] coordinates) {
+    private int countFilledConstraints(int index) {
         int count = 0;
-        // Calculate filled cells in all dimensions
-        for (int dim = 0; dim < board.dimensionCount; dim++) {
-            int[] temp = coordinates.clone();
-            for (int i = 0; i < board.sideLength; i++) {
-                temp[dim] = i;
-                int index = board.getFlatIndex(temp);
-                if (index < board.cells.length && board.cells[index].getValue() != 0) {
-                    count++;
-                }
-            }
-        }
-        // Add block constraints
-        int blockIndex = board.getBlockIndex(coordinates);
-        for (int cellIndex : board.blocks[blockIndex]) {
-            if (board.cells[cellIndex].getValue() != 0) {
-                count++;
-            }
+        int[] peers = board.topology.peers;
+        int start = index * board.topology.peerCount;
+        for (int p = start, end = start + board.topology.peerCount; p < end; p++) {
+            if (board.value(peers[p]) != 0) count++;
         }
         return count;
     }
 
     public boolean solve() {
-        Stack<Cell> stack = new LinkedList<>();
-        while (stack.size() < board.totalCells - board.numLocked) {
-            Cell next = findNextCell();
-
-            while (next == null && !stack.isEmpty()) {
-                Cell popped = stack.pop();
-                int[] coords = popped.getCoordinates();
-                int nextVal = findNextValue(coords);
-                if (nextVal != 0) {
-                    board.set(coords, nextVal);
-                    popped.setValue(nextVal);
-                    next = popped;
+        return solve(Engine.BACKTRACKING);
+    }
+
+    public boolean solve(Engine engine) {
+        return solve(engine, SolveBudget.unlimited()) == Outcome.SOLVED;
+    }
+
+    /**
+     * Solves within a budget, first fixing the free values of one unit (see
+     * {@link Board#fixFreeValues()}). On TIMEOUT the board is left partly filled; on UNSOLVABLE it
+     * is restored.
+     */
+    public Outcome solve(Engine engine, SolveBudget budget) {
+        int level = board.level();
+        board.fixFreeValues();
+        Outcome outcome = switch (engine) {
+            case BACKTRACKING -> backtrack(budget);
+            case DANCING_LINKS -> new DancingLinks(board).solve(budget);
+        };
+        if (outcome == Outcome.UNSOLVABLE) board.undoTo(level);
+        if (metrics != null) metrics.recordOutcome(outcome);
+        return outcome;
+    }
+
+    /**
+     * Depth-first search over primitive frames. Frame d holds the decided cell, the board level
+     * before its assignment and the candidates it has not tried yet, so backtracking never
+     * revisits a value and the loop allocates nothing once the frame arrays are sized.
+     * Every decision counts against the node budget; the deadline and token are polled every
+     * {@value SolveBudget#CHECK_INTERVAL} decisions.
+     */
+    private Outcome backtrack(SolveBudget budget) {
+        if (!board.propagate()) return Outcome.UNSOLVABLE;
+        int words = board.availableValues.wordsPerCell;
+        int capacity = board.buckets.emptyCells(); // each decision fills at least one cell
+        int[] frameCell = new int[capacity], frameLevel = new int[capacity];
+        long[] frameMask = new long[capacity * words];
+        int depth = 0;
+
+        boolean virtual = Thread.currentThread().isVirtual();
+        long decisions = 0, maxNodes = budget.maxNodes(), sliceStart = System.nanoTime();
+        // metrics are kept in locals and handed over once; the clock is only read when someone is listening
+        boolean timed = metrics != null;
+        long assignments = 0, backtracks = 0, maskUpdates = 0, selectionNanos = 0, propagationNanos = 0;
+        int maxDepth = 0;
+        long[] histogram = timed ? new long[board.sideLength + 1] : null;
+        try {
+            while (true) {
+                if (++decisions > maxNodes) return Outcome.TIMEOUT;
+                if (decisions % SolveBudget.CHECK_INTERVAL == 0) {
+                    if (budget.expired()) return Outcome.TIMEOUT;
+                    // CPU-bound virtual threads are never preempted, hand the carrier on about every millisecond
+                    if (virtual && System.nanoTime() - sliceStart > 1_000_000) {
+                        Thread.yield();
+                        sliceStart = System.nanoTime();
+                    }
+                }
+                long start = timed ? System.nanoTime() : 0;
+                int cell = findNextCell();
+                if (timed) selectionNanos += System.nanoTime() - start;
+                if (cell < 0) return Outcome.SOLVED; // every cell is filled
+                if (timed) histogram[board.availableValues.count(cell)]++;
+                frameCell[depth] = cell;
+                frameLevel[depth] = board.level();
+                board.availableValues.copy(cell, frameMask, depth * words);
+                depth++;
+                maxDepth = Math.max(maxDepth, depth);
+
+                // try the top frame's remaining values; an exhausted frame hands back to its parent
+                while (true) {
+                    int top = depth - 1;
+                    int value = CandidateSet.pollLowest(frameMask, top * words, words);
+                    if (value != 0) {
+                        assignments++;
+                        int mark = board.availableValues.mark();
+                        start = timed ? System.nanoTime() : 0;
+                        board.set(frameCell[top], value);
+                        boolean consistent = board.propagate();
+                        if (timed) propagationNanos += System.nanoTime() - start;
+                        maskUpdates += board.availableValues.mark() - mark;
+                        if (consistent) break;
+                        backtracks++;
+                        board.undoTo(frameLevel[top]);
+                    } else {
+                        if (--depth == 0) return Outcome.UNSOLVABLE;
+                        backtracks++;
+                        board.undoTo(frameLevel[depth - 1]);
+                    }
                 }
             }
-            if (next == null) return false;
-            stack.push(next);
+        } finally {
+            if (timed) {
+                metrics.recordSearch(assignments, backtracks, maxDepth, maskUpdates, histogram, selectionNanos, propagationNanos);
+            }
+        }
+    }
+
+    /**
+     * Solves the puzzle on a ForkJoin pool. The first few decision levels are split into one
+     * subtask per candidate value, each searching its own copy of the board made when it starts, and idle workers
+     * steal the pending ones. Every worker stops as soon as one of them completes its board.
+     *
+     * @param parallelism the number of worker threads.
+     * @return true if the puzzle was solved; the solution is copied into this board.
+     */
+    public boolean solveParallel(int parallelism) {
+        // deep enough for about eight subtasks per worker with binary branching
+        int splitDepth = 32 - Integer.numberOfLeadingZeros(parallelism * 8 - 1);
+        SearchState state = new SearchState(splitDepth);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new SplitTask(board, -1, 0, 0, state));
+        } finally {
+            pool.shutdownNow();
+        }
+        return adopt(state.solution.get());
+    }
+
+    /**
+     * Counts the solutions of the puzzle without changing the board, stopping as soon as
+     * {@code limit} are found, so {@code countSolutions(2)} answers "none, one or many".
+     * Limits up to {@value #SEQUENTIAL_COUNT_LIMIT} run a single exact-cover search; larger ones
+     * split the first decision levels into subtasks on the common ForkJoin pool, whose leaf
+     * searches add each solution to one shared total as they find it and all stop once it
+     * reaches the limit.
+     *
+     * @param limit at least 1.
+     * @return the number of solutions, at most {@code limit}.
+     */
+    public long countSolutions(long limit) {
+        if (limit < 1) throw new IllegalArgumentException("limit must be at least 1, was " + limit);
+        if (limit <= SEQUENTIAL_COUNT_LIMIT) return new DancingLinks(board).count(limit);
+        int parallelism = Math.max(1, ForkJoinPool.getCommonPoolParallelism());
+        int splitDepth = 32 - Integer.numberOfLeadingZeros(parallelism * 8 - 1);
+        AtomicLong total = new AtomicLong();
+        ForkJoinPool.commonPool().invoke(new CountTask(new Board(board), 0, splitDepth, limit, total));
+        return Math.min(total.get(), limit);
+    }
+
+    // copy a solved board found by another search into this one
+    private boolean adopt(Board solution) {
+        if (solution == null) return false;
+        for (int i = 0; i < board.totalCells; i++) {
+            if (board.value(i) == 0) board.set(i, solution.value(i));
         }
         return true;
     }
 
-    private record Result(long totalTime, int successCount) {}
+    /**
+     * Races MIN_CANDIDATES, MAX_CONSTRAINTS and {@code randomRuns} differently seeded RANDOM
+     * searches on virtual threads, each on its own copy of the board. The first search to finish
+     * decides the outcome and the others are stopped cooperatively.
+     *
+     * @param randomRuns the number of RANDOM searches to add to the portfolio.
+     * @return true if the puzzle was solved; the solution is copied into this board.
+     */
+    public boolean solvePortfolio(int randomRuns) throws InterruptedException {
+        AtomicBoolean stop = new AtomicBoolean();
+        List<Callable<Board>> runs = new ArrayList<>();
+        runs.add(portfolioRun(new Sudoku(new Board(board), CellSelectionStrategy.MIN_CANDIDATES), stop));
+        runs.add(portfolioRun(new Sudoku(new Board(board), CellSelectionStrategy.MAX_CONSTRAINTS), stop));
+        for (int seed = 0; seed < randomRuns; seed++) {
+            runs.add(portfolioRun(new Sudoku(new Board(board), CellSelectionStrategy.RANDOM, seed), stop));
+        }
+        Board solution;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            try {
+                solution = executor.invokeAny(runs);
+            } finally {
+                stop.set(true); // before close(), which waits for every run to return
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Every portfolio search failed", e.getCause());
+        }
+        return adopt(solution);
+    }
+
+    // a finished search is decisive either way: a solved board, or null once the tree is exhausted
+    private Callable<Board> portfolioRun(Sudoku run, AtomicBoolean stop) {
+        run.metrics = metrics;
+        return () -> {
+            boolean solved = run.backtrack(SolveBudget.unlimited().withToken(stop)) == Outcome.SOLVED;
+            if (!solved && stop.get()) throw new CancellationException("Stopped by another search");
+            stop.set(true);
+            return solved ? run.board : null;
+        };
+    }
+
+    private record SearchState(int splitDepth, AtomicBoolean stop, AtomicReference<Board> solution) {
+        SearchState(int splitDepth) {
+            this(splitDepth, new AtomicBoolean(), new AtomicReference<>());
+        }
+
+        void found(Board board) {
+            if (solution.compareAndSet(null, board)) stop.set(true);
+        }
+    }
+
+    private class SplitTask extends RecursiveAction {
+        private final Board parent; // copied only when the task runs, so waiting subtasks share their parent's board
+        private final int index, value; // the assignment added to the copy, or index -1 for none
+        private final int depth;
+        private final SearchState state;
+
+        SplitTask(Board parent, int index, int value, int depth, SearchState state) {
+            this.parent = parent;
+            this.index = index;
+            this.value = value;
+            this.depth = depth;
+            this.state = state;
+        }
+
+        @Override
+        protected void compute() {
+            if (state.stop.get()) return;
+            Board board = new Board(parent);
+            if (index >= 0) board.set(index, value);
+            if (!board.propagate()) return;
+            Sudoku search = new Sudoku(board, strategy);
+            search.metrics = metrics;
+            if (depth >= state.splitDepth) {
+                if (search.backtrack(SolveBudget.unlimited().withToken(state.stop)) == Outcome.SOLVED) state.found(board);
+                return;
+            }
+            int next = search.findNextCell();
+            if (next < 0) {
+                state.found(board);
+                return;
+            }
+            List<SplitTask> subtasks = new ArrayList<>();
+            for (int v = board.availableValues.lowest(next); v != 0; v = board.availableValues.next(next, v)) {
+                subtasks.add(new SplitTask(board, next, v, depth + 1, state));
+            }
+            invokeAll(subtasks);
+        }
+    }
+
+    private class CountTask extends RecursiveAction {
+        private final Board board;
+        private final int depth, splitDepth;
+        private final long limit;
+        private final AtomicLong total;
+
+        CountTask(Board board, int depth, int splitDepth, long limit, AtomicLong total) {
+            this.board = board;
+            this.depth = depth;
+            this.splitDepth = splitDepth;
+            this.limit = limit;
+            this.total = total;
+        }
+
+        @Override
+        protected void compute() {
+            if (total.get() >= limit || !board.propagate()) return;
+            if (depth >= splitDepth) {
+                new DancingLinks(board).count(limit, total);
+                return;
+            }
+            int index = new Sudoku(board, strategy).findNextCell();
+            if (index < 0) {
+                total.incrementAndGet();
+                return;
+            }
+            List<CountTask> subtasks = new ArrayList<>();
+            for (int value = board.availableValues.lowest(index); value != 0; value = board.availableValues.next(index, value)) {
+                Board copy = new Board(board);
+                copy.set(index, value);
+                subtasks.add(new CountTask(copy, depth + 1, splitDepth, limit, total));
+            }
+            invokeAll(subtasks);
+        }
+    }
+
     record Data(List<Double> timeData, List<Double> successData) {}
 
     public static void saveChart(LineChart chart, String filename) throws IOException {
@@ -138,120 +394,76 @@ public class Sudoku {
         ImageIO.write(image, "png", outputFile);
     }
 
-    public static void main(String[] args) throws InterruptedException {
-        Map<String, Map<CellSelectionStrategy, Data>> allResults = new ConcurrentHashMap<>();
+    // the (dimensionCount, blockLength) pairs swept by main; larger boards do not finish within the budget
+    private static final int[][] SWEEP_CONFIGS = {{2, 2}, {2, 3}, {2, 4}, {3, 2}};
+    private static final int SWEEP_STEPS = 10;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
         System.out.println("Generating example puzzles:");
-        for (int dim = 2; dim <=5; dim++) {
-            BoardConfig config = new BoardConfig(dim, 2);
-            Sudoku example = new Sudoku(config, 0, CellSelectionStrategy.MIN_CANDIDATES);
-            if (example.solve()) {
-                System.out.printf("\nExample for %dD Sudoku:\n", dim);
-                example.board.print(dim, example.board);
+        // the swept configs: most-constrained-first fills even the blank 3D board within the budget,
+        // while no engine finishes a blank 4D board in time
+        for (int[] sweep : SWEEP_CONFIGS) {
+            BoardConfig config = new BoardConfig(sweep[0], sweep[1]);
+            Sudoku example = new Sudoku(config, 0, CellSelectionStrategy.MAX_CONSTRAINTS);
+            if (example.solve(Engine.BACKTRACKING, SolveBudget.of(Duration.ofSeconds(2))) == Outcome.SOLVED) {
+                System.out.printf("\nExample for %dD Sudoku with block length %d:\n", sweep[0], sweep[1]);
+                example.board.print(sweep[0], example.board);
             } else {
-                System.out.printf("Failed to solve %dD example\n", dim);
+                System.out.printf("Failed to solve %dD example with block length %d\n", sweep[0], sweep[1]);
             }
         }
-        ExecutorService executor = Executors.newFixedThreadPool(
-            Runtime.getRuntime().availableProcessors() * 2);
-
-        for (int dimensionCount = 2; dimensionCount <= 5; dimensionCount++) {
-            for (int blockLength = 2; blockLength <= 5; blockLength++) {
-                final int finalDimensionCount = dimensionCount;
-                final int finalBlockLength = blockLength;
-                executor.submit(() -> {
-                    BoardConfig config = new BoardConfig(finalDimensionCount, finalBlockLength);
-                    int sideLength = (int) Math.pow(finalBlockLength, finalDimensionCount);
-                    int maxLocked = (int) Math.pow(sideLength, finalDimensionCount);
-
-                    Map<CellSelectionStrategy, List<Double>> timeData = new HashMap<>();
-                    Map<CellSelectionStrategy, List<Double>> successData = new HashMap<>();
-                    for (CellSelectionStrategy s : CellSelectionStrategy.values()) {
-                        timeData.put(s, new ArrayList<>());
-                        successData.put(s, new ArrayList<>());
-                    }
 
-                    // process each numLocked in parallel
-                    IntStream.rangeClosed(0, maxLocked).parallel().forEach(numLocked -> {
-                        Map<CellSelectionStrategy, Result> strategyResults = new HashMap<>();
-                        Arrays.stream(CellSelectionStrategy.values()).parallel().forEach(strategy -> {
-                            long totalTime = 0;
-                            int successCount = 0;
-                            for (int trial = 0; trial < 100; trial++) {
-                                Sudoku solver = new Sudoku(config, numLocked, strategy);
-                                long startTime = System.currentTimeMillis();
-                                boolean solved = solver.solve();
-                                long duration = System.currentTimeMillis() - startTime;
-                                totalTime += duration;
-                                if (solved) successCount++;
-                            }
-                            strategyResults.put(strategy, new Result(totalTime, successCount));
-                        });
-                        synchronized (timeData) {
-                            for (CellSelectionStrategy strategy : strategyResults.keySet()) {
-                                Result result = strategyResults.get(strategy);
-                                timeData.get(strategy).add((double) result.totalTime);
-                                successData.get(strategy).add(result.successCount / 100.0);
-                            }
-                        }
-                    });
-                    // graph of total time
-                    List<List<Double>> timeDatasets = new ArrayList<>();
-                    String[] timeLabels = new String[CellSelectionStrategy.values().length];
-                    for (int i = 0; i < CellSelectionStrategy.values().length; i++) {
-                        timeDatasets.add(timeData.get(CellSelectionStrategy.values()[i]));
-                        timeLabels[i] = CellSelectionStrategy.values()[i].name();
-                    }
-                    String timeTitle = String.format("Sudoku Time Performance (Dim %d, Block %d)", finalDimensionCount, finalBlockLength);
-                    
-                    LineChart timeChart = new LineChart(timeTitle, "Number of Locked Cells", "Time (ms)", timeDatasets, timeLabels, 10);
-                    try {
-                        saveChart(timeChart, String.format("time_dim%d_block%d.png", finalDimensionCount, finalBlockLength));
-                    } catch (IOException e) {
-                        e.printStackTrace();
-                    }
-                    
-                    List<List<Double>> successDatasets = new ArrayList<>();
-                    String[] successLabels = new String[CellSelectionStrategy.values().length];
-                    for (int i = 0; i < CellSelectionStrategy.values().length; i++) {
-                        successDatasets.add(successData.get(CellSelectionStrategy.values()[i]));
-                        successLabels[i] = CellSelectionStrategy.values()[i].name();
-                    }
-                    String successTitle = String.format("Sudoku Success Rate (Dim %d, Block %d)", finalDimensionCount, finalBlockLength);
-                    LineChart successChart = new LineChart(successTitle, "Number of Locked Cells", "Success Rate", successDatasets, successLabels, 10);
-                    try {
-                        saveChart(successChart, String.format("success_dim%d_block%d.png", finalDimensionCount, finalBlockLength));
-                    } catch (IOException e) {
-                        e.printStackTrace();
-                    }
-                    String key = String.format("dim%d_block%d", finalDimensionCount, finalBlockLength);
-                    Map<CellSelectionStrategy, Data> dataMap = new HashMap<>();
-
-                    for (CellSelectionStrategy strategy : CellSelectionStrategy.values()) {
-                        Data data = new Data(
-                            timeData.get(strategy),
-                            successData.get(strategy)
-                        );
-                        dataMap.put(strategy, data);
-                    }
-                    allResults.put(key, dataMap);
-                });
+        // seeded, so rows are comparable across machines and commits; the scheduler keeps one solve per core
+        BenchmarkHarness harness = new BenchmarkHarness(5, 20, Duration.ofSeconds(1), 42);
+        List<BoardConfig> configs = new ArrayList<>();
+        for (int[] sweep : SWEEP_CONFIGS) configs.add(new BoardConfig(sweep[0], sweep[1]));
+        List<BenchmarkHarness.Row> rows = new SweepScheduler(harness, Runtime.getRuntime().availableProcessors())
+            .run(SweepScheduler.grid(configs, SWEEP_STEPS));
+
+        // rows come back grouped by config, then strategy, then numLocked
+        int next = 0;
+        for (BoardConfig config : configs) {
+            Map<CellSelectionStrategy, Data> dataMap = new EnumMap<>(CellSelectionStrategy.class);
+            for (CellSelectionStrategy strategy : CellSelectionStrategy.values()) {
+                Data data = new Data(new ArrayList<>(), new ArrayList<>());
+                for (int i = 0; i <= SWEEP_STEPS; i++) {
+                    BenchmarkHarness.Row row = rows.get(next++);
+                    data.timeData().add(row.p50Micros() / 1000.0);
+                    data.successData().add(row.successRate());
+                }
+                dataMap.put(strategy, data);
             }
+            if (!GraphicsEnvironment.isHeadless()) saveCharts(config, SweepScheduler.lockedStep(config, SWEEP_STEPS), dataMap);
         }
-        executor.shutdown();
-        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
-        System.out.println("\nOverall Performance Comparison Table:");
-        System.out.printf("%-15s %-15s %-15s %-15s%n", "Dimension", "Strategy", "Avg Time (ms)", "Success Rate");
+        BenchmarkHarness.writeCsv(Path.of("benchmark.csv"), rows);
 
-        for (Map.Entry<String, Map<CellSelectionStrategy, Data>> entry : allResults.entrySet()) {
-            String key = entry.getKey();
-            Map<CellSelectionStrategy, Data> dataMap = entry.getValue();
+        System.out.println("\nOverall Performance Comparison Table:");
+        System.out.printf("%-15s %-15s %-12s %-12s %-12s %-12s%n", "Dimension", "Strategy", "p50 (ms)", "p99 (ms)",
+            "Max (ms)", "Success Rate");
+        for (BenchmarkHarness.Row row : rows) {
+            System.out.printf("%-15s %-15s %-12.2f %-12.2f %-12.2f %-12.2f%%%n",
+                String.format("dim%d_block%d_%d", row.dimensionCount(), row.blockLength(), row.numLocked()),
+                row.strategy(), row.p50Micros() / 1000.0, row.p99Micros() / 1000.0, row.maxMicros() / 1000.0,
+                row.successRate() * 100);
+        }
+    }
 
-            for (CellSelectionStrategy strategy : CellSelectionStrategy.values()) {
-                Data data = dataMap.get(strategy);
-                double avgTime = data.timeData.stream().mapToDouble(d -> d).average().orElse(0);
-                double successRate = data.successData.stream().mapToDouble(d -> d).average().orElse(0);
-                System.out.printf("%-15s %-15s %-15.2f %-15.2f%%%n", key, strategy.name(), avgTime, successRate * 100);
-            }
+    // median time and success rate against the number of locked cells, one series per strategy
+    private static void saveCharts(BoardConfig config, int step, Map<CellSelectionStrategy, Data> dataMap) throws IOException {
+        String xLabel = String.format("Number of Locked Cells (x%d)", step);
+        String[] labels = new String[CellSelectionStrategy.values().length];
+        List<List<Double>> timeDatasets = new ArrayList<>(), successDatasets = new ArrayList<>();
+        for (int i = 0; i < labels.length; i++) {
+            CellSelectionStrategy strategy = CellSelectionStrategy.values()[i];
+            labels[i] = strategy.name();
+            timeDatasets.add(dataMap.get(strategy).timeData());
+            successDatasets.add(dataMap.get(strategy).successData());
         }
+        String timeTitle = String.format("Sudoku Median Solve Time (Dim %d, Block %d)", config.dimensionCount, config.blockLength);
+        saveChart(new LineChart(timeTitle, xLabel, "p50 Time (ms)", timeDatasets, labels, 10),
+            String.format("time_dim%d_block%d.png", config.dimensionCount, config.blockLength));
+        String successTitle = String.format("Sudoku Success Rate (Dim %d, Block %d)", config.dimensionCount, config.blockLength);
+        saveChart(new LineChart(successTitle, xLabel, "Success Rate", successDatasets, labels, 10),
+            String.format("success_dim%d_block%d.png", config.dimensionCount, config.blockLength));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,246 @@
+/*
+file name:      SudokuTests.java
+
+How to run:     java -ea SudokuTests
+*/
+
+public class SudokuTests {
+
+    private static Board board(BoardConfig config, String cells) {
+        Board board = new Board(config);
+        for (int i = 0; i < cells.length(); i++) {
+            char c = cells.charAt(i);
+            if (c != '.') board.set(i, c - '0');
+        }
+        return board;
+    }
+
+    public static void main(String[] args) throws Exception {
+        BoardConfig nine = new BoardConfig(2, 3);
+        String unique = "53..7....6..195....98....6.8...6...34..8.3..17...2...6.6....28....419..5....8..79";
+
+        // case 1: none, one or many
+        {
+            // setup
+            Sudoku one = new Sudoku(board(nine, unique), Sudoku.CellSelectionStrategy.MIN_CANDIDATES);
+            Sudoku many = new Sudoku(board(nine, unique.substring(0, 40)), Sudoku.CellSelectionStrategy.MIN_CANDIDATES);
+            Sudoku none = new Sudoku(board(nine, "12345678.........9"), Sudoku.CellSelectionStrategy.MIN_CANDIDATES);
+
+            // verify
+            System.out.println(one.countSolutions(2) + " == 1");
+            System.out.println(many.countSolutions(2) + " == 2");
+            System.out.println(none.countSolutions(2) + " == 0");
+
+            // test
+            assert one.countSolutions(2) == 1 : "Error in Sudoku::countSolutions()";
+            assert many.countSolutions(2) == 2 && many.countSolutions(5) == 5 : "Error in Sudoku::countSolutions()";
+            assert none.countSolutions(2) == 0 : "Error in Sudoku::countSolutions()";
+            assert one.solve() : "Error in Sudoku::countSolutions() changed the board";
+        }
+
+        // case 2: large limits are split across the pool and still exact
+        {
+            // setup
+            Board blank = new Board(new BoardConfig(2, 2));
+            Sudoku sudoku = new Sudoku(blank, Sudoku.CellSelectionStrategy.MIN_CANDIDATES);
+            long all = sudoku.countSolutions(1000);
+            long capped = sudoku.countSolutions(257);
+
+            // verify
+            System.out.println(all + " == 288");
+            System.out.println(capped + " == 257");
+
+            // test
+            assert all == 288 : "Error in Sudoku::countSolutions()"; // every 4x4 grid
+            assert capped == 257 : "Error in Sudoku::countSolutions()";
+            assert new Sudoku(board(nine, unique), Sudoku.CellSelectionStrategy.MIN_CANDIDATES).countSolutions(1000) == 1
+                : "Error in Sudoku::countSolutions()";
+            for (int i = 0; i < blank.totalCells; i++) {
+                assert blank.value(i) == 0 : "Error in Sudoku::countSolutions() changed the board";
+            }
+            assert new Sudoku(new Board(nine), Sudoku.CellSelectionStrategy.MIN_CANDIDATES).countSolutions(300) == 300
+                : "Error in Sudoku::countSolutions()";
+            boolean rejected = false;
+            try {
+                sudoku.countSolutions(0);
+            } catch (IllegalArgumentException e) {
+                rejected = true;
+            }
+            assert rejected : "Error in Sudoku::countSolutions() accepted a limit of 0";
+        }
+        // case 3: budgets end the search with TIMEOUT instead of an answer
+        {
+            // setup
+            BoardConfig sixteen = new BoardConfig(2, 4);
+            Sudoku.CellSelectionStrategy min = Sudoku.CellSelectionStrategy.MIN_CANDIDATES;
+            SolveBudget cancelled = SolveBudget.unlimited();
+            cancelled.cancel();
+            Sudoku.Outcome nodes = new Sudoku(new Board(sixteen), min).solve(Sudoku.Engine.BACKTRACKING,
+                SolveBudget.unlimited().withMaxNodes(10));
+            Sudoku.Outcome deadline = new Sudoku(new Board(sixteen), min).solve(Sudoku.Engine.BACKTRACKING,
+                SolveBudget.of(java.time.Duration.ZERO));
+            Sudoku.Outcome token = new Sudoku(new Board(sixteen), min).solve(Sudoku.Engine.DANCING_LINKS, cancelled);
+            Sudoku.Outcome links = new Sudoku(new Board(sixteen), min).solve(Sudoku.Engine.DANCING_LINKS,
+                SolveBudget.unlimited().withMaxNodes(10));
+            Sudoku.Outcome solved = new Sudoku(board(nine, unique), min).solve(Sudoku.Engine.BACKTRACKING,
+                SolveBudget.of(java.time.Duration.ofMinutes(1)).withMaxNodes(1000));
+            Sudoku.Outcome unsolvable = new Sudoku(board(nine, "12345678.........9"), min).solve(Sudoku.Engine.DANCING_LINKS,
+                SolveBudget.unlimited());
+
+            // verify
+            System.out.println(nodes + " " + deadline + " " + token + " " + links + " == TIMEOUT TIMEOUT TIMEOUT TIMEOUT");
+            System.out.println(solved + " " + unsolvable + " == SOLVED UNSOLVABLE");
+
+            // test
+            assert nodes == Sudoku.Outcome.TIMEOUT && deadline == Sudoku.Outcome.TIMEOUT : "Error in Sudoku::solve(budget)";
+            assert token == Sudoku.Outcome.TIMEOUT && links == Sudoku.Outcome.TIMEOUT : "Error in DancingLinks::solve(budget)";
+            assert solved == Sudoku.Outcome.SOLVED && unsolvable == Sudoku.Outcome.UNSOLVABLE : "Error in Sudoku::solve(budget)";
+        }
+        // case 4: metrics add up across solves and export in every format
+        {
+            // setup
+            SolverMetrics metrics = new SolverMetrics();
+            for (int i = 0; i < 3; i++) {
+                Sudoku sudoku = new Sudoku(board(nine, unique.substring(0, 50)), Sudoku.CellSelectionStrategy.MIN_CANDIDATES);
+                sudoku.recordMetrics(metrics);
+                sudoku.solve();
+            }
+            long selections = 0;
+            for (int k = 0; k < SolverMetrics.HISTOGRAM_BUCKETS; k++) selections += metrics.candidatesAtSelection(k);
+            com.sun.net.httpserver.HttpServer server = metrics.serve(0);
+            java.net.http.HttpResponse<String> response = java.net.http.HttpClient.newHttpClient().send(
+                java.net.http.HttpRequest.newBuilder(java.net.URI.create(
+                    "http://localhost:" + server.getAddress().getPort() + "/metrics")).build(),
+                java.net.http.HttpResponse.BodyHandlers.ofString());
+            server.stop(0);
+
+            // verify
+            System.out.println(metrics.solves() + " " + metrics.solved() + " == 3 3");
+            System.out.println(metrics.toCsv());
+            System.out.println(metrics.toJson());
+
+            // test
+            assert metrics.solves() == 3 && metrics.solved() == 3 : "Error in SolverMetrics::recordOutcome()";
+            assert metrics.decisions() >= selections && selections > 0 : "Error in SolverMetrics::recordSearch()";
+            assert metrics.decisions() - metrics.backtracks() <= selections : "Error in SolverMetrics::recordSearch()";
+            assert metrics.maxDepth() > 0 && metrics.maskUpdates() > 0 : "Error in SolverMetrics::recordSearch()";
+            assert metrics.toCsv().split(",").length == SolverMetrics.csvHeader().split(",").length : "Error in SolverMetrics::toCsv()";
+            assert metrics.toJson().contains("\"solves\":3") : "Error in SolverMetrics::toJson()";
+            assert response.body().contains("sudoku_solves_total{outcome=\"solved\"} 3") : "Error in SolverMetrics::serve()";
+        }
+
+        // case 5: solution validity from the occupancy counters matches a full audit
+        {
+            // setup
+            Board solved = board(nine, unique);
+            new Sudoku(solved, Sudoku.CellSelectionStrategy.MIN_CANDIDATES).solve();
+            Board partial = board(nine, unique);
+            Board repeated = board(nine, "11");
+            Board blank = new Board(new BoardConfig(3, 2));
+            Board copy = new Board(solved);
+
+            // verify
+            System.out.println(solved.validSolution() + " " + solved.auditSolution() + " == true true");
+            System.out.println(partial.validSolution() + " " + repeated.validSolution() + " == false false");
+
+            // test
+            assert solved.validSolution() && solved.auditSolution() : "Error in Board::validSolution()";
+            assert copy.validSolution() && copy.auditSolution() : "Error in Board::Board(Board)";
+            assert !partial.validSolution() && !partial.auditSolution() : "Error in Board::validSolution()";
+            assert !repeated.validSolution() && !repeated.auditSolution() : "Error in Board::validSolution()";
+            assert !blank.validSolution() && !blank.auditSolution() : "Error in Board::validSolution()";
+            int level = solved.level();
+            solved.undoTo(level - 1);
+            assert !solved.validSolution() && !solved.auditSolution() : "Error in Board::undoTo()";
+        }
+
+        // case 6: symmetry breaking fills a unit of free values and keeps every answer
+        {
+            // setup
+            Board blank = new Board(nine);
+            int blankFilled = blank.fixFreeValues();
+            Board sparse = board(nine, "12");
+            int sparseFilled = sparse.fixFreeValues();
+            Board covered = board(nine, unique);
+            int coveredFilled = covered.fixFreeValues();
+            Board repeated = board(nine, "11");
+            int repeatedFilled = repeated.fixFreeValues(); // 8 values missing from row 0, 7 open cells
+            int agree = 0;
+            for (int seed = 0; seed < 20; seed++) {
+                Board puzzle = new Board(new BoardConfig(2, 2));
+                puzzle.initializeFixedCells(seed % 6, new java.util.Random(seed));
+                boolean solvable = new Sudoku(new Board(puzzle), Sudoku.CellSelectionStrategy.MIN_CANDIDATES).countSolutions(1) == 1;
+                boolean solved = new Sudoku(puzzle, Sudoku.CellSelectionStrategy.MIN_CANDIDATES).solve();
+                if (solved == solvable && (!solved || puzzle.validSolution())) agree++;
+            }
+
+            // verify
+            System.out.println(blankFilled + " " + sparseFilled + " " + coveredFilled + " == 9 7 0");
+            System.out.println(agree + " == 20");
+
+            // test
+            for (int i = 0; i < 9; i++) {
+                assert blank.value(i) == i + 1 : "Error in Board::fixFreeValues()";
+                assert sparse.value(i) == i + 1 : "Error in Board::fixFreeValues()";
+            }
+            assert blankFilled == 9 && sparseFilled == 7 && coveredFilled == 0 : "Error in Board::fixFreeValues()";
+            assert repeatedFilled == 7 && repeated.value(8) == 8 : "Error in Board::fixFreeValues()";
+            assert agree == 20 : "Error in Sudoku::solve() with symmetry breaking";
+        }
+
+        // case 7: a portfolio solve completes the board, and an interrupted one still stops every run
+        {
+            // setup
+            Board puzzle = board(nine, unique.substring(0, 45));
+            boolean solved = new Sudoku(puzzle, Sudoku.CellSelectionStrategy.MIN_CANDIDATES).solvePortfolio(2);
+            Sudoku hard = new Sudoku(new Board(new BoardConfig(4, 2)), Sudoku.CellSelectionStrategy.MIN_CANDIDATES);
+            java.util.concurrent.atomic.AtomicReference<Throwable> thrown = new java.util.concurrent.atomic.AtomicReference<>();
+            Thread caller = new Thread(() -> {
+                try {
+                    hard.solvePortfolio(2);
+                } catch (Throwable e) {
+                    thrown.set(e);
+                }
+            });
+            caller.setDaemon(true); // a caller stuck waiting must not keep the JVM alive
+            caller.start();
+            Thread.sleep(200);
+            caller.interrupt();
+            caller.join(10_000);
+
+            // verify
+            System.out.println(solved + " " + puzzle.validSolution() + " == true true");
+            System.out.println(caller.isAlive() + " " + thrown.get() + " == false InterruptedException");
+
+            // test
+            assert solved && puzzle.validSolution() : "Error in Sudoku::solvePortfolio()";
+            assert !caller.isAlive() : "Error in Sudoku::solvePortfolio() kept waiting for its runs";
+            assert thrown.get() instanceof InterruptedException : "Error in Sudoku::solvePortfolio()";
+        }
+
+        // case 8: a parallel solve agrees with the sequential one
+        {
+            // setup
+            Board parallel = board(nine, unique), sequential = board(nine, unique);
+            boolean parallelSolved = new Sudoku(parallel, Sudoku.CellSelectionStrategy.MIN_CANDIDATES).solveParallel(2);
+            boolean sequentialSolved = new Sudoku(sequential, Sudoku.CellSelectionStrategy.MIN_CANDIDATES).solve();
+            Board open = new Board(new BoardConfig(2, 4));
+            boolean openSolved = new Sudoku(open, Sudoku.CellSelectionStrategy.MIN_CANDIDATES).solveParallel(3);
+            Board none = board(nine, "12345678.........9");
+            boolean noneSolved = new Sudoku(none, Sudoku.CellSelectionStrategy.MIN_CANDIDATES).solveParallel(2);
+
+            // verify
+            System.out.println(parallelSolved + " " + sequentialSolved + " " + openSolved + " " + noneSolved + " == true true true false");
+
+            // test
+            assert parallelSolved && sequentialSolved && parallel.validSolution() : "Error in Sudoku::solveParallel()";
+            for (int i = 0; i < parallel.totalCells; i++) {
+                assert parallel.value(i) == sequential.value(i) : "Error in Sudoku::solveParallel()";
+            }
+            assert openSolved && open.validSolution() : "Error in Sudoku::solveParallel()";
+            assert !noneSolved && none.value(8) == 0 : "Error in Sudoku::solveParallel()";
+        }
+
+        System.out.println("Done testing Sudoku!");
+    }
+}
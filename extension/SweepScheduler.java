@@ -0,0 +1,98 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+/**
+ * Runs the cells of an experiment grid through a {@link BenchmarkHarness} on a fixed set of threads.
+ * Each cell gets a rough cost estimate and the cells are handed out most expensive first, so the
+ * long 3D cells start immediately instead of being left for the end. Workers claim the next cell
+ * from one atomic counter and write its row into a slot reserved for it, so the rows come back in
+ * grid order without any locking, and no worker ever spawns nested parallel work.
+ */
+public class SweepScheduler {
+    public record WorkUnit(BoardConfig config, int numLocked, Sudoku.CellSelectionStrategy strategy) {}
+
+    // per empty cell and peer, roughly what one propagated assignment costs on a 9x9 board
+    private static final double NANOS_PER_PEER_UPDATE = 50;
+
+    private final BenchmarkHarness harness;
+    private final int parallelism;
+
+    public SweepScheduler(BenchmarkHarness harness, int parallelism) {
+        this.harness = harness;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Every (config, numLocked, strategy) combination, numLocked running from 0 to half the board
+     * in {@code steps} equal steps, in the order the rows should be reported.
+     */
+    public static List<WorkUnit> grid(List<BoardConfig> configs, int steps) {
+        List<WorkUnit> units = new ArrayList<>();
+        for (BoardConfig config : configs) {
+            int step = lockedStep(config, steps);
+            for (Sudoku.CellSelectionStrategy strategy : Sudoku.CellSelectionStrategy.values()) {
+                for (int i = 0; i <= steps; i++) units.add(new WorkUnit(config, i * step, strategy));
+            }
+        }
+        return units;
+    }
+
+    public static int lockedStep(BoardConfig config, int steps) {
+        return Math.max(1, config.topology().totalCells / 2 / steps);
+    }
+
+    /**
+     * Expected nanoseconds for all trials of a unit: one assignment per empty cell, each touching
+     * every peer, scaled up for the strategies and dimensions that are known to search far more,
+     * and capped by the per-trial budget.
+     */
+    public double estimateCost(WorkUnit unit) {
+        BoardTopology topology = unit.config().topology();
+        double solve = Math.max(0, topology.totalCells - unit.numLocked()) * topology.peerCount * NANOS_PER_PEER_UPDATE;
+        solve *= switch (unit.strategy()) {
+            case MIN_CANDIDATES -> 1;
+            case MAX_CONSTRAINTS -> 4;
+            case RANDOM -> 100;
+        };
+        solve *= Math.pow(10_000, topology.dimensionCount - 2); // beyond 2D most trials run out the budget
+        solve = Math.min(solve, harness.timeout.toNanos());
+        return solve * (harness.warmupTrials + harness.trials);
+    }
+
+    /**
+     * @return one row per unit, in the order of {@code units}.
+     * @throws IllegalStateException if a unit failed, with that failure as the cause; the other
+     *         workers stop claiming units once one has failed.
+     */
+    public List<BenchmarkHarness.Row> run(List<WorkUnit> units) throws InterruptedException {
+        double[] cost = units.stream().mapToDouble(this::estimateCost).toArray();
+        int[] order = IntStream.range(0, units.size()).boxed()
+            .sorted(Comparator.comparingDouble((Integer i) -> cost[i]).reversed())
+            .mapToInt(Integer::intValue).toArray();
+        BenchmarkHarness.Row[] rows = new BenchmarkHarness.Row[units.size()];
+        AtomicInteger next = new AtomicInteger();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        Thread[] workers = new Thread[Math.max(1, Math.min(parallelism, units.size()))];
+        for (int w = 0; w < workers.length; w++) {
+            workers[w] = new Thread(() -> {
+                for (int k = next.getAndIncrement(); k < order.length && failure.get() == null; k = next.getAndIncrement()) {
+                    WorkUnit unit = units.get(order[k]);
+                    try {
+                        rows[order[k]] = harness.run(unit.config(), unit.numLocked(), unit.strategy());
+                    } catch (RuntimeException | Error e) {
+                        failure.compareAndSet(null, new IllegalStateException("Sweep cell " + unit + " failed", e));
+                    }
+                }
+            }, "sweep-" + w);
+            workers[w].start();
+        }
+        for (Thread worker : workers) worker.join(); // join publishes every slot to this thread
+        if (failure.get() != null) throw failure.get();
+        return List.of(rows);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+file name:      SweepSchedulerTests.java
+
+How to run:     java -ea SweepSchedulerTests
+*/
+
+import java.time.Duration;
+import java.util.List;
+
+public class SweepSchedulerTests {
+
+    public static void main(String[] args) throws InterruptedException {
+        // case 1: grid order and cost estimates
+        {
+            // setup
+            SweepScheduler scheduler = new SweepScheduler(new BenchmarkHarness(1, 4, Duration.ofSeconds(1), 7), 2);
+            BoardConfig small = new BoardConfig(2, 2), large = new BoardConfig(3, 2);
+            List<SweepScheduler.WorkUnit> units = SweepScheduler.grid(List.of(small, large), 4);
+            SweepScheduler.WorkUnit blank = new SweepScheduler.WorkUnit(small, 0, Sudoku.CellSelectionStrategy.MIN_CANDIDATES);
+            SweepScheduler.WorkUnit clued = new SweepScheduler.WorkUnit(small, 40, Sudoku.CellSelectionStrategy.MIN_CANDIDATES);
+            SweepScheduler.WorkUnit random = new SweepScheduler.WorkUnit(small, 0, Sudoku.CellSelectionStrategy.RANDOM);
+            SweepScheduler.WorkUnit cube = new SweepScheduler.WorkUnit(large, 0, Sudoku.CellSelectionStrategy.RANDOM);
+
+            // verify
+            System.out.println(units.size() + " == 30");
+            System.out.println(units.get(1).numLocked() + " == 2");
+            System.out.println(scheduler.estimateCost(cube) + " == 5.0E9");
+
+            // test
+            assert units.size() == 2 * 3 * 5 : "Error in SweepScheduler::grid()";
+            assert units.get(0).equals(blank) && units.get(15).config() == large : "Error in SweepScheduler::grid()";
+            assert units.get(1).numLocked() == 2 && units.get(4).numLocked() == 8 : "Error in SweepScheduler::grid()"; // 16 cells / 2 / 4
+            assert scheduler.estimateCost(clued) < scheduler.estimateCost(blank) : "Error in SweepScheduler::estimateCost()";
+            assert scheduler.estimateCost(blank) < scheduler.estimateCost(random) : "Error in SweepScheduler::estimateCost()";
+            assert scheduler.estimateCost(cube) == 5 * 1e9 : "Error in SweepScheduler::estimateCost()";
+        }
+
+        // case 2: rows come back in grid order and match a sequential run
+        {
+            // setup
+            BenchmarkHarness harness = new BenchmarkHarness(1, 3, Duration.ofSeconds(1), 11);
+            BoardConfig config = new BoardConfig(2, 2);
+            List<SweepScheduler.WorkUnit> units = SweepScheduler.grid(List.of(config), 2);
+            List<BenchmarkHarness.Row> rows = new SweepScheduler(harness, 3).run(units);
+
+            // verify
+            System.out.println(rows.size() + " == " + units.size());
+
+            // test
+            assert rows.size() == units.size() : "Error in SweepScheduler::run()";
+            for (int i = 0; i < units.size(); i++) {
+                SweepScheduler.WorkUnit unit = units.get(i);
+                BenchmarkHarness.Row row = rows.get(i);
+                assert row.numLocked() == unit.numLocked() && row.strategy() == unit.strategy() : "Error in SweepScheduler::run()";
+                assert row.trials() == 3 && row.solved() + row.unsolvable() + row.timeouts() == 3 : "Error in SweepScheduler::run()";
+                BenchmarkHarness.Row expected = harness.run(config, unit.numLocked(), unit.strategy());
+                assert row.solved() == expected.solved() && row.unsolvable() == expected.unsolvable() : "Error in SweepScheduler::run()";
+            }
+        }
+
+        // case 3: more threads than units, and an empty grid
+        {
+            // setup
+            BenchmarkHarness harness = new BenchmarkHarness(0, 1, Duration.ofSeconds(1), 3);
+            List<SweepScheduler.WorkUnit> one = List.of(new SweepScheduler.WorkUnit(new BoardConfig(2, 2), 20,
+                Sudoku.CellSelectionStrategy.MIN_CANDIDATES));
+
+            // verify
+            List<BenchmarkHarness.Row> rows = new SweepScheduler(harness, 8).run(one);
+            System.out.println(rows.get(0).numLocked() + " == 20");
+
+            // test
+            assert rows.size() == 1 && rows.get(0).numLocked() == 20 : "Error in SweepScheduler::run()";
+            assert new SweepScheduler(harness, 4).run(List.of()).isEmpty() : "Error in SweepScheduler::run()";
+        }
+
+        // case 4: a failing unit is reported to the caller
+        {
+            // setup
+            BenchmarkHarness failing = new BenchmarkHarness(0, 1, Duration.ofSeconds(1), 3) {
+                @Override
+                public Row run(BoardConfig config, int numLocked, Sudoku.CellSelectionStrategy strategy) {
+                    if (numLocked == 4) throw new UnsupportedOperationException("broken cell");
+                    return super.run(config, numLocked, strategy);
+                }
+            };
+            Throwable thrown = null;
+            try {
+                new SweepScheduler(failing, 2).run(SweepScheduler.grid(List.of(new BoardConfig(2, 2)), 4));
+            } catch (IllegalStateException e) {
+                thrown = e.getCause();
+            }
+
+            // verify
+            System.out.println(thrown + " == java.lang.UnsupportedOperationException: broken cell");
+
+            // test
+            assert thrown instanceof UnsupportedOperationException : "Error in SweepScheduler::run() hid a failure";
+        }
+
+        System.out.println("Done testing SweepScheduler!");
+    }
+}
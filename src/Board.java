@@ -7,17 +7,28 @@ import java.io.IOException;
 import java.util.Random;
 
 public class Board {
-    private static Cell[][][] cells;
-    public static boolean finished;
+    private final Cell[][][] cells;
+    private volatile boolean finished; // set by the solver thread, read when painting
     public int sideLength;
+    public final int blockLength;
+
+    // bit v-1 is set when value v is placed in the unit; every set() keeps them current
+    private final int[][] lineMasks;   // [row][depth], across the columns
+    private final int[][] columnMasks; // [col][depth], across the rows
+    private final int[][] depthMasks;  // [row][col], across the depths
+    private int lockedCount;
 
     public Board(int blockLength) {
+        this.blockLength = blockLength;
         sideLength = blockLength * blockLength;
         cells = new Cell[sideLength][sideLength][sideLength];
-        for (int i=0; i<9; i++)
-            for (int j=0; j<9; j++)
-                for (int k=0; k<9; k++)
+        for (int i=0; i<sideLength; i++)
+            for (int j=0; j<sideLength; j++)
+                for (int k=0; k<sideLength; k++)
                     cells[i][j][k] = new Cell(i,j,k,0);
+        lineMasks = new int[sideLength][sideLength];
+        columnMasks = new int[sideLength][sideLength];
+        depthMasks = new int[sideLength][sideLength];
     }
 
     public Board(int numFixed, int blockLength) {
@@ -25,10 +36,10 @@ public class Board {
         Random rand = new Random();
         int count = 0;
         while (count < numFixed) {
-            int row = rand.nextInt(9);
-            int col = rand.nextInt(9);
-            int depth = rand.nextInt(9);
-            int value = rand.nextInt(9) + 1;
+            int row = rand.nextInt(sideLength);
+            int col = rand.nextInt(sideLength);
+            int depth = rand.nextInt(sideLength);
+            int value = rand.nextInt(sideLength) + 1;
             if (cells[row][col][depth].getValue() == 0 && validValue(row, col, depth, value)) {
                 set(row, col, depth, value);
                 set(row, col, depth, true); // Lock the cell
@@ -37,39 +48,41 @@ public class Board {
         }
     }
 
-    public  static void setFinished(boolean finish){
+    public void setFinished(boolean finish){
         finished = finish;
     }
 
-    public boolean validValue(int r, int c, int d, int val) {
-        for (int i=0; i<9; i++) { // all columns for certain line and depth
-            if (i != c && cells[r][i][d].getValue() == val) return false;
-        }
-        for (int i=0; i<9; i++) { // all lines for certain column and depth
-            if (i != r && cells[i][c][d].getValue() == val) return false;
-        }
-        for (int i=0; i<9; i++) { // all depths for certain line and column
-            if (i != d && cells[r][c][i].getValue() == val) return false;
-        }
+    public boolean isFinished() {
+        return finished;
+    }
 
-        // check
-        int br = r/3 *3, bc = c/3 *3, bd = d/3 *3;
-        for (int i=br; i<br+3; i++)
-            for (int j=bc; j<bc+3; j++)
-                for (int k=bd; k<bd+3; k++) {
-                    if (i==r && j==c && k==d) continue;
-                    if (cells[i][j][k].getValue() == val) return false;
-                }
-        return true;
+    /**
+     * @return a mask with bit v-1 set for every value v that no cell sharing a line with (r, c, d)
+     *         holds. A filled cell's own value counts as taken. These are exactly the constraints
+     *         validSolution() checks.
+     */
+    public int candidates(int r, int c, int d) {
+        int used = lineMasks[r][d] | columnMasks[c][d] | depthMasks[r][c];
+        return ~used & ((1 << sideLength) - 1);
     }
 
+    public boolean validValue(int r, int c, int d, int val) {
+        // a unit never holds a value twice, so if this cell has val no other cell does
+        if (cells[r][c][d].getValue() == val) return true;
+        return (candidates(r, c, d) & (1 << (val - 1))) != 0;
+    }
+
+    /**
+     * True when every line along each of the three axes holds each value exactly once. Cubes are
+     * not checked: a cube has blockLength^3 cells but only sideLength values, so a filled cube
+     * always repeats one.
+     */
     public boolean validSolution() {
-        for (int i = 0; i < 9; i++) {
-            for (int j = 0; j < 9; j++) {
-                for (int k = 0; k < 9; k++) {
-                    if (cells[i][j][k].getValue() == 0 || !validValue(i, j, cells[i][j][k].getValue(), k)) {
-                        return false;
-                    }
+        for (int i = 0; i < sideLength; i++) {
+            for (int j = 0; j < sideLength; j++) {
+                if (Integer.bitCount(lineMasks[i][j]) != sideLength || Integer.bitCount(columnMasks[i][j]) != sideLength
+                        || Integer.bitCount(depthMasks[i][j]) != sideLength) {
+                    return false;
                 }
             }
         }
@@ -77,11 +90,11 @@ public class Board {
     }
 
     public int getCols() {
-        return 9;
+        return sideLength;
     }
 
     public int getRows() {
-        return 9;
+        return sideLength;
     }
 
     public int value(int row, int col, int depth) {
@@ -93,17 +106,7 @@ public class Board {
     }
 
     public int numLocked() {
-        int count = 0;
-        for (int i = 0; i < 9; i++) {
-            for (int j = 0; j < 9; j++) {
-                for (int k = 0; k < 9; k++) {
-                    if (isLocked(i, j, k)) {
-                        count++;
-                    }
-                }
-            }
-        }
-        return count;
+        return lockedCount;
     }
 
     public Board(String filename) throws IOException {
@@ -117,7 +120,8 @@ public class Board {
 
 /**
  * Sets the value of the cell at the specified row, column, and depth.
- * If the cell is locked, the value is not changed.
+ * If the cell is locked, the value is not changed. Values must go through here, not
+ * through {@link Cell#setValue}, so that the occupancy masks stay current.
  *
  * @param row the row index of the cell
  * @param col the column index of the cell
@@ -127,11 +131,26 @@ public class Board {
 
     public void set(int row, int col, int depth, int value) {
         if (isLocked(row, col, depth)) return;
-        cells[row][col][depth].setValue(value);
+        Cell cell = cells[row][col][depth];
+        if (cell.getValue() != 0) {
+            int bit = ~(1 << (cell.getValue() - 1));
+            lineMasks[row][depth] &= bit;
+            columnMasks[col][depth] &= bit;
+            depthMasks[row][col] &= bit;
+        }
+        if (value != 0) {
+            int bit = 1 << (value - 1);
+            lineMasks[row][depth] |= bit;
+            columnMasks[col][depth] |= bit;
+            depthMasks[row][col] |= bit;
+        }
+        cell.setValue(value);
     }
 
     public void set(int row, int col, int depth, boolean lock) {
-        cells[row][col][depth].setLocked(lock);
+        Cell cell = cells[row][col][depth];
+        if (cell.isLocked() != lock) lockedCount += lock ? 1 : -1;
+        cell.setLocked(lock);
     }
 
     public boolean read(String filename) throws IOException {
@@ -162,9 +181,9 @@ public class Board {
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
-        for (int k = 0; k < 9; k++) { // Use hardcoded size 9
-            for (int i = 0; i < 9; i++) {
-                for (int j = 0; j < 9; j++) {
+        for (int k = 0; k < sideLength; k++) {
+            for (int i = 0; i < sideLength; i++) {
+                for (int j = 0; j < sideLength; j++) {
                     sb.append(cells[k][i][j].getValue());
                     sb.append(" ");
                 }
@@ -184,10 +203,10 @@ public class Board {
         if (finished){
             if(validSolution()){
                 g.setColor(new Color(0, 127, 0));
-                g.drawChars("Hurray!".toCharArray(), 0, "Hurray!".length(), scale*3+5, scale*10+10);
+                g.drawChars("Hurray!".toCharArray(), 0, "Hurray!".length(), scale*3+5, scale*(getRows()+1)+10);
             } else {
                 g.setColor(new Color(127, 0, 0));
-                g.drawChars("No solution!".toCharArray(), 0, "No solution!".length(), scale*3+5, scale*10+10); // Fix length mismatch
+                g.drawChars("No solution!".toCharArray(), 0, "No solution!".length(), scale*3+5, scale*(getRows()+1)+10); // Fix length mismatch
             }
         }
     }
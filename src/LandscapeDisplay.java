@@ -15,7 +15,7 @@ public class LandscapeDisplay {
         this.scape = scape;
         this.win = new JFrame("Sudoku Display");
         this.win.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        this.canvas = new LandscapePanel(9 * this.gridScale, 11 * this.gridScale);
+        this.canvas = new LandscapePanel(scape.getCols() * this.gridScale, (scape.getRows() + 2) * this.gridScale);
         this.win.add(this.canvas, BorderLayout.CENTER);
         this.win.pack();
         this.win.setVisible(true);
@@ -1,6 +1,16 @@
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class Sudoku {
+    public enum Outcome {
+        SOLVED, UNSOLVABLE, TIMEOUT
+    }
+
     private final Board board;
     private LandscapeDisplay ld;
     private final int delay;
@@ -16,84 +26,140 @@ public class Sudoku {
         this.delay = delay;
     }
 
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Values are tried in a cycle starting from (row + col + depth) mod sideLength + 1, the value the
+     * cyclic Latin cube puts in this cell, so a blank board fills without backtracking.
+     *
+     * @return the next candidate after the cell's current value in that cycle, or 0 if none is left.
+     */
     public int findNextValue(Cell c) {
+        int side = board.sideLength;
+        int start = (c.getRow() + c.getCol() + c.getDepth()) % side;
+        int free = board.candidates(c.getRow(), c.getCol(), c.getDepth());
+        free = ((free >>> start) | (free << (side - start))) & ((1 << side) - 1); // bit i is value start+i+1
         int currentValue = c.getValue();
-        int startValue = currentValue == 0 ? 1 : currentValue + 1;
-        for (int value = startValue; value <= 9; value++) {
-            if (board.validValue(c.getRow(), c.getCol(), c.getDepth(), value)) {
-                return value;
-            }
+        if (currentValue != 0) {
+            free &= -1 << ((currentValue - 1 - start + side) % side + 1); // skip what the cycle already tried
         }
-        return 0;
+        return free == 0 ? 0 : (start + Integer.numberOfTrailingZeros(free)) % side + 1;
     }
 
     public Cell findNextCell() {
         Cell bestCell = null;
-        int minOptions = board.sideLength;
+        int side = board.sideLength;
+        int minOptions = side + 1;
 
-        for (int i=0; i<9; i++)
-            for (int j=0; j<9; j++)
-                for (int k=0; k<9; k++) {
+        for (int i=0; i<side; i++)
+            for (int j=0; j<side; j++)
+                for (int k=0; k<side; k++) {
                     Cell c = board.get(i,j,k);
                     if (c.getValue() !=0 || c.isLocked()) continue;
-                    int opts = 0;
-                    for (int v=1; v<=9; v++)
-                        if (board.validValue(i,j,k,v)) opts++;
+                    int opts = Integer.bitCount(board.candidates(i,j,k));
                     if (opts ==0) return null;
-                    if (opts < minOptions) minOptions = opts; bestCell = c;
+                    if (opts < minOptions) {
+                        minOptions = opts;
+                        bestCell = c;
+                    }
                 }
         return bestCell;
     }
 
     public boolean solve() throws InterruptedException {
-        Stack<Cell> stack = new LinkedList<>();
+        return solve(Long.MAX_VALUE) == Outcome.SOLVED;
+    }
+
+    /**
+     * Solves with a wall-clock budget, checked every 64 steps along with the thread's interrupt flag.
+     *
+     * @return TIMEOUT once timeoutMillis have passed, leaving the board partly filled.
+     */
+    public Outcome solve(long timeoutMillis) throws InterruptedException {
+        long start = System.nanoTime();
+        long budget = timeoutMillis >= Long.MAX_VALUE / 1_000_000 ? Long.MAX_VALUE : timeoutMillis * 1_000_000;
+        long steps = 0;
+        Stack<Cell> stack = new ArrayDeque<>();
         int size = (int) Math.pow(board.sideLength, 3);
         while (stack.size() <  size - board.numLocked()) { // Stack filled cells
-            Cell next = findNextCell();
+            if ((++steps & 63) == 0) {
+                if (Thread.interrupted()) throw new InterruptedException();
+                if (System.nanoTime() - start > budget) return Outcome.TIMEOUT;
+            }
+            Cell next = findNextCell(); // null when some empty cell has no candidate left
+            int value = next == null ? 0 : findNextValue(next);
 
-            while (next == null && !stack.isEmpty()) {
+            while (value == 0) { // dead end: move the latest decision on to its next value
 //                if (delay > 0) {
 //                    Thread.sleep(delay);
 //                    ld.repaint();
 //                }
-                Cell last = stack.pop();
-                int value = findNextValue(last);
+                if (stack.isEmpty()) {
+                    board.setFinished(true);
+                    return Outcome.UNSOLVABLE;
+                }
+                next = stack.pop();
+                value = findNextValue(next);
+                if (value == 0) {
+                    board.set(next.getRow(), next.getCol(), next.getDepth(), 0); // Reset ineffective value
+                }
+            }
+            board.set(next.getRow(), next.getCol(), next.getDepth(), value);
+            stack.push(next);
+        }
+        board.setFinished(true);
+        return Outcome.SOLVED;
+    }
 
-                if (value != 0) {
-                    board.set(last.getRow(), last.getCol(), last.getDepth(), value);
-                    next = last;
-                } else {
-                    board.set(last.getRow(), last.getCol(), last.getDepth(), 0); // Reset ineffective value
+    /**
+     * Runs trials solves for every numLocked below maxLocked on a pool of threads. Each trial
+     * builds and solves its own board, so the only thing shared is the list of futures.
+     *
+     * @return outcomes[numLocked][trial]
+     */
+    public static Outcome[][] runTrials(int maxLocked, int trials, long timeoutMillis, int threads)
+            throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Outcome>> futures = new ArrayList<>();
+            for (int numLocked = 0; numLocked < maxLocked; numLocked++) {
+                int locked = numLocked;
+                for (int i = 0; i < trials; i++) {
+                    futures.add(pool.submit(() -> {
+                        Sudoku game = new Sudoku(locked, 0);
+                        Outcome outcome = game.solve(timeoutMillis);
+                        assert outcome != Outcome.SOLVED || game.getBoard().validSolution();
+                        return outcome;
+                    }));
                 }
             }
-            if (next == null) {
-                Board.finished = true;
-                return false;
+            Outcome[][] outcomes = new Outcome[maxLocked][trials];
+            for (int k = 0; k < futures.size(); k++) {
+                outcomes[k / trials][k % trials] = futures.get(k).get();
             }
-            int nextValue = findNextValue(next); // Avoid redundant calls
-            board.set(next.getRow(), next.getCol(), next.getDepth(), nextValue);
-            stack.push(next);
+            return outcomes;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("trial failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
         }
-        Board.finished = true;
-        return true;
     }
 
     public static void main(String[] args) throws InterruptedException {
         int trials = 10, timeoutThreshold = 1000;
+        Outcome[][] outcomes = runTrials(50, trials, timeoutThreshold, Runtime.getRuntime().availableProcessors());
 
-        for (int initialLocked = 0; initialLocked < 50; initialLocked++) {
+        for (int initialLocked = 0; initialLocked < outcomes.length; initialLocked++) {
             int solved = 0;
             int timeout = 0;
-            for (int i = 0; i < trials; i++) {
-                Sudoku s = new Sudoku(initialLocked, 0);
-                long startTime = System.currentTimeMillis();
-                if (s.solve()) solved++;
-
-                long duration = System.currentTimeMillis() - startTime;
-                if (duration > timeoutThreshold) timeout++;
+            for (Outcome outcome : outcomes[initialLocked]) {
+                if (outcome == Outcome.SOLVED) solved++;
+                if (outcome == Outcome.TIMEOUT) timeout++;
             }
             System.out.printf("initialLocked: %d, success: %d, timeOut: %d%n",
                 initialLocked, solved, timeout);
         }
     }
-}
\ No newline at end of file
+}
@@ -18,7 +18,9 @@ public class SudokuTests {
          * Test 1: Solve Blank Board
          */
         Sudoku blankBoardTest = new Sudoku(0, 0);
-        if (blankBoardTest.solve()) {
+        boolean blankBoardSolved = blankBoardTest.solve();
+        assert !blankBoardSolved || blankBoardTest.getBoard().validSolution();
+        if (blankBoardSolved) {
             testScore += 2;
         } else {
             System.out.println("Blank board not solving");
@@ -28,7 +30,9 @@ public class SudokuTests {
          * Test 2: Solve a Board with a small number of elements
          */
         Sudoku fiveElementTest = new Sudoku(5, 0);
-        if (fiveElementTest.solve()) {
+        boolean fiveElementSolved = fiveElementTest.solve(10000) == Sudoku.Outcome.SOLVED;
+        assert !fiveElementSolved || fiveElementTest.getBoard().validSolution();
+        if (fiveElementSolved) {
             testScore += 2;
         } else {
             System.out.println("5-element board not solving");
@@ -38,15 +42,47 @@ public class SudokuTests {
          * Test 3: Solve a Board with a moderate number of elements
          */
         Sudoku fortyElementTest = new Sudoku(40, 0);
-        if (fortyElementTest.solve()) {
+        boolean fortyElementSolved = fortyElementTest.solve(10000) == Sudoku.Outcome.SOLVED;
+        assert !fortyElementSolved || fortyElementTest.getBoard().validSolution();
+        if (fortyElementSolved) {
             testScore += 2;
         } else {
             System.out.println("40-element board not solving");
         }
+
+        /**
+         * Test 4: Boards are independent and solve side by side
+         */
+        Board fiveLocked = new Board(5, 3);
+        new Board(3);
+        Sudoku.Outcome[][] outcomes = Sudoku.runTrials(3, 2, 10000, 2);
+        // runTrials asserts every SOLVED board is valid; the clued 9x9x9 trials may run out their budget
+        boolean blanksSolved = true;
+        for (Sudoku.Outcome outcome : outcomes[0]) blanksSolved &= outcome == Sudoku.Outcome.SOLVED;
+        if (fiveLocked.numLocked() == 5 && blanksSolved) {
+            testScore += 2;
+        } else {
+            System.out.println("Boards interfere with each other");
+        }
+
+        /**
+         * Test 5: A board with every line filled correctly is a valid solution
+         */
+        Board latin = new Board(3);
+        for (int i = 0; i < 9; i++)
+            for (int j = 0; j < 9; j++)
+                for (int k = 0; k < 9; k++) latin.set(i, j, k, (i + j + k) % 9 + 1);
+        boolean accepted = latin.validSolution();
+        latin.set(0, 0, 0, 2);
+        if (accepted && !latin.validSolution()) {
+            testScore += 2;
+        } else {
+            System.out.println("validSolution wrong on a filled board");
+        }
         return testScore;
     }
 
     public static void main(String[] args) throws InterruptedException{
-        System.out.println(sudokuTests() + "/6");
+        System.out.println(sudokuTests() + "/10");
     }
 }
\ No newline at end of file
@@ -18,19 +18,10 @@ public class SudokuTests0 {
             * Solve Blank Board
         */
         try {
-            Thread thread = new Thread(new Runnable() {
-
-                @Override
-                public void run() {
-                    Sudoku game = new Sudoku( 0 , 0 ) ;
-                    try {
-                        game.solve();
-                    } catch (InterruptedException e) {e.printStackTrace();}
-                }
-            });
-            thread.start();
-            boolean result = thread.join(java.time.Duration.ofMillis(10000));
-            if (result) testScore += 2;
+            Sudoku game = new Sudoku( 0 , 0 ) ;
+            Sudoku.Outcome outcome = game.solve(10000);
+            assert outcome != Sudoku.Outcome.SOLVED || game.getBoard().validSolution();
+            if (outcome != Sudoku.Outcome.TIMEOUT) testScore += 2;
         } catch (Exception E) {
             System.out.println( "Exception when solving blank board" );
         }
@@ -39,24 +30,10 @@ public class SudokuTests0 {
         * Solve a Board with a small number of elements
         */
         try {
-            Thread thread = new Thread(new Runnable() {
-
-            @Override
-            public void run() {
-                Sudoku game = new Sudoku( 5 , 0 ) ;
-                try {
-                    game.solve();
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
-                }
-            });
-        thread.start();
-
-        boolean result = thread.join(java.time.Duration.ofMillis(10000));
-
-        if (result)
-            testScore += 2;
+            Sudoku game = new Sudoku( 5 , 0 ) ;
+            Sudoku.Outcome outcome = game.solve(10000);
+            assert outcome != Sudoku.Outcome.SOLVED || game.getBoard().validSolution();
+            if (outcome != Sudoku.Outcome.TIMEOUT) testScore += 2;
         } catch (Exception E) {
             System.out.println( "Exception when solving blank board" );
         }
@@ -65,25 +42,10 @@ public class SudokuTests0 {
         * Solve a Board with a more elements
         */
         try {
-            Thread thread = new Thread(new Runnable() {
-
-            @Override
-            public void run() {
-                Sudoku game = new Sudoku( 40 , 0 ) ;
-                try {
-                    game.solve();
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
-                }
-
-            });
-        thread.start();
-
-        boolean result = thread.join(java.time.Duration.ofMillis(10000));
-
-        if (result)
-            testScore += 2;
+            Sudoku game = new Sudoku( 40 , 0 ) ;
+            Sudoku.Outcome outcome = game.solve(10000);
+            assert outcome != Sudoku.Outcome.SOLVED || game.getBoard().validSolution();
+            if (outcome != Sudoku.Outcome.TIMEOUT) testScore += 2;
         } catch (Exception E) {
             System.out.println( "Exception when solving blank board" );
         }